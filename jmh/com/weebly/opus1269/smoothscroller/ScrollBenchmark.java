@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.event.MouseWheelEvent;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the work done for each wheel event and each animation frame.
+ * Run with the gc profiler, gc.alloc.rate.norm is the bytes allocated per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScrollBenchmark {
+    private static final long EVENT_NANOS = 8L * 1000000L;
+    private static final long FRAME_NANOS = 16L * 1000000L;
+
+    // Wheel events sent before the direction is reversed, keeps the target away from its ends
+    private static final int EVENTS_PER_DIRECTION = 1000;
+
+    /**
+     * The device turning the wheel, a mouse with notches or a touchpad with fractional rotations
+     */
+    @State(Scope.Thread)
+    public static class Input {
+        // one swipe on a touchpad, a burst of small steps that speeds up then dies away
+        private static final double[] SWIPE = {0.05D, 0.1D, 0.25D, 0.4D, 0.55D, 0.4D, 0.3D, 0.2D, 0.1D, 0.05D};
+
+        @Param({"NOTCHED", "PRECISE"})
+        public String device;
+
+        private boolean mPrecise;
+        private int mEvents;
+
+        @Setup
+        public void setUp() {
+            mPrecise = "PRECISE".equals(device);
+            mEvents = 0;
+        }
+
+        double getRotation() {
+            final int events = mEvents++;
+            final double rotation = mPrecise ? SWIPE[events % SWIPE.length] : 1.0D;
+            return ((events / EVENTS_PER_DIRECTION) % 2 == 0) ? rotation : -rotation;
+        }
+    }
+
+    private final ScrollPhysicsConfig mConfig = ScrollPhysicsConfig.DEFAULTS;
+    private ScrollAnimator mAnimator;
+    private InputClassifier mClassifier;
+    private VelocityTracker mTracker;
+    private FlingTrajectory mFling;
+    private long mNowNanos;
+    private int mFrames;
+    private double mFlingMillis;
+
+    @Setup
+    public void setUp() {
+        mAnimator = new ScrollAnimator(new VirtualScrollTarget(), mConfig.MODEL, ScrollStats.getInstance());
+        mClassifier = new InputClassifier();
+        mTracker = new VelocityTracker(20, 100.0D, ScrollPhysics.MILLIS_PER_IMPULSE);
+        mFling = new FlingTrajectory();
+        mFling.start(mConfig.SPD, mConfig.FRIC, mConfig.TOL);
+        mNowNanos = 1000000000L;
+        mFrames = 0;
+        mFlingMillis = 0.0D;
+        mAnimator.start(mNowNanos);
+    }
+
+    /**
+     * What the wheel listener does for each event: classify it and hand it to the animation.
+     * No frames are run, once the queue is full further events fold into the last one,
+     * which costs the same as queuing them.
+     */
+    @Benchmark
+    public InputClass mouseWheelMoved(Input input) {
+        mNowNanos += EVENT_NANOS;
+        final double rotation = input.getRotation();
+        final InputClass inputClass = mClassifier.classify(rotation, MouseWheelEvent.WHEEL_UNIT_SCROLL, mNowNanos);
+        mAnimator.addInput(3.0D * rotation, false, inputClass, mNowNanos);
+        return inputClass;
+    }
+
+    /**
+     * One animation frame while the wheel is turning every other frame.
+     */
+    @Benchmark
+    public boolean update(Input input) {
+        mNowNanos += FRAME_NANOS;
+        if ((mFrames++ & 1) == 0) {
+            final double rotation = input.getRotation();
+            final InputClass inputClass =
+                    mClassifier.classify(rotation, MouseWheelEvent.WHEEL_UNIT_SCROLL, mNowNanos);
+            mAnimator.addInput(3.0D * rotation, false, inputClass, mNowNanos);
+        }
+        return mAnimator.tick(mNowNanos, mConfig);
+    }
+
+    /**
+     * Fitting the wheel velocity over its recent movement.
+     */
+    @Benchmark
+    public double averaging() {
+        mNowNanos += EVENT_NANOS;
+        mTracker.addMovement(mNowNanos, 3.0D);
+        return mTracker.getVelocity();
+    }
+
+    /**
+     * Reading one frame off the path of a fling.
+     */
+    @Benchmark
+    public double flingTrajectory() {
+        mFlingMillis += 16.0D;
+        if (mFlingMillis >= mFling.getStopMillis()) {
+            mFlingMillis = 0.0D;
+        }
+        return mFling.getPosition(mFlingMillis) + mFling.getVelocity(mFlingMillis);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Action to calibrate the settings for the device in use
+ */
+public class CalibrateScrollAction extends AnAction {
+    private static final String TITLE = "Smooth Scroller Calibration";
+
+    private final Logger mLogger = Logger.getInstance(getClass());
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        // make sure the settings are loaded
+        SmoothScrollerService.getInstance();
+
+        final CalibrationDialog dialog = new CalibrationDialog();
+        if (!dialog.showAndGet()) {
+            return;
+        }
+
+        // the search replays every gesture many times, keep it off the EDT
+        final Project project = e.getProject();
+        final ScrollTrace trace = dialog.getTrace();
+        final ScrollPhysicsConfig start = Props.getConfig();
+        new Task.Modal(project, "Calibrating Smooth Scroller", true) {
+            private ScrollCalibrator.Result mResult = null;
+
+            @Override
+            public void run(@NotNull final ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+                mResult = ScrollCalibrator.calibrate(trace, start, new ScrollCalibrator.Progress() {
+                    @Override
+                    public void setFraction(double fraction) {
+                        indicator.setFraction(fraction);
+                    }
+
+                    @Override
+                    public void checkCanceled() {
+                        indicator.checkCanceled();
+                    }
+                });
+            }
+
+            @Override
+            public void onSuccess() {
+                showResult(project, mResult);
+            }
+        }.queue();
+    }
+
+    private void showResult(Project project, ScrollCalibrator.Result result) {
+        if (result == null) {
+            Messages.showErrorDialog(project, "Not enough scrolling was recorded.", TITLE);
+            return;
+        }
+
+        Props.setCalibration(result.INPUT_CLASS, result.CONFIG);
+        Props.storeProperties();
+
+        mLogger.info("Smooth Scroller calibration\n" + result.format());
+        Messages.showInfoMessage(project, result.format(), TITLE);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.openapi.ui.DialogWrapper;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.util.ArrayList;
+
+/**
+ * Guides the user through a short scroll session and records it
+ */
+public class CalibrationDialog extends DialogWrapper implements MouseWheelListener {
+    private static final String INSTRUCTIONS = "<html>Using the device you want to calibrate, scroll over the box below:" +
+            "<ol><li>a few single small scrolls, pausing between them</li>" +
+            "<li>a few steady scrolls of about half a page</li>" +
+            "<li>a few fast flings</li></ol>" +
+            "Scroll up and down as you like. Click Calibrate when done.</html>";
+
+    // The events recorded so far
+    private final ArrayList<ScrollTrace.Event> mEvents = new ArrayList<ScrollTrace.Event>();
+
+    // Time of the first event, and of the last one
+    private long mFirstNanos = 0L;
+    private long mLastNanos = 0L;
+    private double mLastRotation = 0.0D;
+    private int mGestures = 0;
+
+    private final JLabel mStatus = new JLabel();
+
+    public CalibrationDialog() {
+        super(true);
+
+        init();
+
+        setTitle("Calibrate Smooth Scroller");
+        setOKButtonText("Calibrate");
+        updateStatus();
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        final JPanel area = new JPanel(new BorderLayout());
+        area.setBorder(BorderFactory.createTitledBorder("Scroll here"));
+        area.setPreferredSize(new Dimension(420, 220));
+        area.addMouseWheelListener(this);
+
+        final JPanel panel = new JPanel(new BorderLayout(0, 8));
+        panel.add(new JLabel(INSTRUCTIONS), BorderLayout.NORTH);
+        panel.add(area, BorderLayout.CENTER);
+        panel.add(mStatus, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    @Override
+    public void mouseWheelMoved(MouseWheelEvent e) {
+        final long now = System.nanoTime();
+        final double rotation = e.getPreciseWheelRotation();
+        if (mEvents.isEmpty()) {
+            mFirstNanos = now;
+        }
+
+        // same rule as the calibrator uses
+        if (mEvents.isEmpty() || (now - mLastNanos) > ScrollCalibrator.GESTURE_GAP_NANOS
+                || Math.signum(rotation) != Math.signum(mLastRotation)) {
+            mGestures++;
+        }
+        mLastNanos = now;
+        mLastRotation = rotation;
+
+        mEvents.add(new ScrollTrace.Event(now - mFirstNanos, rotation, e.getScrollAmount(), e.getModifiersEx()));
+        updateStatus();
+    }
+
+    /**
+     * @return the recorded session
+     */
+    ScrollTrace getTrace() {
+        return new ScrollTrace(new ArrayList<ScrollTrace.Event>(mEvents));
+    }
+
+    private void updateStatus() {
+        mStatus.setText(mEvents.size() + " events, " + mGestures + " gestures recorded");
+        setOKActionEnabled(mGestures >= ScrollCalibrator.MIN_GESTURES);
+    }
+}
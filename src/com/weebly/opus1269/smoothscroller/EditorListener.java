@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.event.EditorFactoryEvent;
+import com.intellij.openapi.editor.event.EditorFactoryListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Adds smooth scrolling to every editor when it is created, and removes it
+ * when the editor is released. Nothing is animated, and the settings are
+ * not loaded, until the first scroll.
+ */
+public class EditorListener implements EditorFactoryListener {
+    // The listener attached to an editor is kept on the editor itself
+    static final Key<SmoothScrollerMouseWheelListener> LISTENER_KEY =
+            Key.create("SmoothScrollerMouseWheelListener");
+
+    @Override
+    public void editorCreated(@NotNull EditorFactoryEvent event) {
+        final Editor editor = event.getEditor();
+        if (editor.isOneLineMode() || editor.getUserData(LISTENER_KEY) != null) {
+            // text fields do not scroll
+            return;
+        }
+
+        final VirtualFile file = FileDocumentManager.getInstance().getFile(editor.getDocument());
+        final SmoothScrollerMouseWheelListener listener =
+                new SmoothScrollerMouseWheelListener(editor, ScrollProfile.resolve(editor, file));
+
+        editor.putUserData(LISTENER_KEY, listener);
+        editor.getContentComponent().addMouseWheelListener(listener);
+        editor.getScrollingModel().addVisibleAreaListener(listener);
+    }
+
+    @Override
+    public void editorReleased(@NotNull EditorFactoryEvent event) {
+        final Editor editor = event.getEditor();
+        final SmoothScrollerMouseWheelListener listener = editor.getUserData(LISTENER_KEY);
+        if (listener == null) {
+            return;
+        }
+
+        listener.stopAnimating();
+        editor.getContentComponent().removeMouseWheelListener(listener);
+        editor.getScrollingModel().removeVisibleAreaListener(listener);
+        editor.putUserData(LISTENER_KEY, null);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.ScrollingModel;
+import com.intellij.openapi.editor.ex.EditorEx;
+import com.intellij.openapi.editor.highlighter.HighlighterIterator;
+
+import javax.swing.*;
+import java.awt.Point;
+
+/**
+ * Scrolls the {@link ScrollingModel} of an editor
+ */
+class EditorScrollTarget implements ScrollTarget {
+    // Lines prepared by each call, small enough to fit in a frame
+    private static final int PREPARE_LINES = 20;
+
+    private final Editor mEditor;
+    private final ScrollingModel mScrollingModel;
+    private final JComponent mContentComponent;
+
+    // true while we are scrolling the editor
+    private boolean mScrolling = false;
+
+    EditorScrollTarget(Editor editor) {
+        mEditor = editor;
+        mScrollingModel = editor.getScrollingModel();
+        mContentComponent = editor.getContentComponent();
+        // we will do the animation
+        mScrollingModel.disableAnimation();
+    }
+
+    @Override
+    public int getVerticalScrollOffset() {
+        return mScrollingModel.getVerticalScrollOffset();
+    }
+
+    @Override
+    public void scrollVertically(int offset) {
+        mScrolling = true;
+        try {
+            mScrollingModel.scrollVertically(offset);
+        } finally {
+            mScrolling = false;
+        }
+    }
+
+    @Override
+    public int getMaxVerticalScrollOffset() {
+        return mContentComponent.getHeight() - mScrollingModel.getVisibleArea().height;
+    }
+
+    @Override
+    public int getVisibleHeight() {
+        return mScrollingModel.getVisibleArea().height;
+    }
+
+    @Override
+    public int prepareVertically(int from, int to) {
+        final int end = Math.min(to, from + PREPARE_LINES * Math.max(1, mEditor.getLineHeight()));
+
+        // mapping the ends to the document lays out the soft wraps and folds in between
+        final int startOffset = mEditor.logicalPositionToOffset(mEditor.xyToLogicalPosition(new Point(0, from)));
+        final int endOffset = mEditor.logicalPositionToOffset(mEditor.xyToLogicalPosition(new Point(0, end)));
+
+        // walking the tokens fills the highlighter's cache
+        if (mEditor instanceof EditorEx) {
+            final HighlighterIterator iterator = ((EditorEx) mEditor).getHighlighter().createIterator(startOffset);
+            while (!iterator.atEnd() && iterator.getStart() < endOffset) {
+                iterator.advance();
+            }
+        }
+
+        return end;
+    }
+
+    @Override
+    public int getHorizontalScrollOffset() {
+        return mScrollingModel.getHorizontalScrollOffset();
+    }
+
+    @Override
+    public void scrollHorizontally(int offset) {
+        mScrolling = true;
+        try {
+            mScrollingModel.scrollHorizontally(offset);
+        } finally {
+            mScrolling = false;
+        }
+    }
+
+    @Override
+    public int getMaxHorizontalScrollOffset() {
+        return mContentComponent.getWidth() - mScrollingModel.getVisibleArea().width;
+    }
+
+    @Override
+    public void scroll(int horizontalOffset, int verticalOffset) {
+        mScrolling = true;
+        try {
+            mScrollingModel.scroll(horizontalOffset, verticalOffset);
+        } finally {
+            mScrolling = false;
+        }
+    }
+
+    /**
+     * @return true if the editor is being scrolled by us, rather than by something else
+     */
+    boolean isScrolling() {
+        return mScrolling;
+    }
+}
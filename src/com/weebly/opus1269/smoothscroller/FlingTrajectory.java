@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Exact path of a fling under exponential friction, v(t) = v0 * e^-lambda*t.
+ * The position and velocity can be found at any time with one evaluation,
+ * so uneven or dropped frames don't change where the fling goes, and the
+ * time it stops is known from the start.
+ * Times are in mSec, distances in pixels.
+ */
+final class FlingTrajectory {
+    // Velocity at the start
+    private double mVelocity = 0.0D;
+
+    // Friction, 0 for none
+    private double mLambda = 0.0D;
+
+    // Time the speed drops below the threshold, infinite with no friction
+    private double mStopMillis = 0.0D;
+
+    /**
+     * Start a new fling.
+     *
+     * @param velocity starting velocity
+     * @param lambda   friction
+     * @param tol      speed below which the fling stops
+     */
+    void start(double velocity, double lambda, double tol) {
+        mVelocity = velocity;
+        mLambda = lambda;
+
+        final double speed = Math.abs(velocity);
+        if (speed <= tol) {
+            mStopMillis = 0.0D;
+        } else if (lambda <= 0.0D) {
+            mStopMillis = Double.POSITIVE_INFINITY;
+        } else {
+            mStopMillis = Math.log(speed / tol) / lambda;
+        }
+    }
+
+    double getLambda() {
+        return mLambda;
+    }
+
+    /**
+     * @return time from the start at which the fling stops
+     */
+    double getStopMillis() {
+        return mStopMillis;
+    }
+
+    /**
+     * @param millis time from the start
+     * @return distance travelled from the start
+     */
+    double getPosition(double millis) {
+        final double t = Math.min(millis, mStopMillis);
+        if (t <= 0.0D) {
+            return 0.0D;
+        }
+        if (mLambda <= 0.0D) {
+            return mVelocity * t;
+        }
+        return mVelocity * (1.0D - Math.exp(-mLambda * t)) / mLambda;
+    }
+
+    /**
+     * @param millis time from the start
+     * @return velocity at that time, 0 once stopped
+     */
+    double getVelocity(double millis) {
+        if (millis >= mStopMillis) {
+            return 0.0D;
+        }
+        return mVelocity * Math.exp(-mLambda * Math.max(0.0D, millis));
+    }
+
+    /**
+     * Distance a fling covers before it stops, without creating one.
+     *
+     * @param velocity starting velocity
+     * @param lambda   friction, must be more than 0
+     * @param tol      speed below which the fling stops
+     * @return total distance travelled
+     */
+    static double getStopDistance(double velocity, double lambda, double tol) {
+        if (Math.abs(velocity) <= tol) {
+            return 0.0D;
+        }
+        // position at the stop time, e^-lambda*t is tol / |v0| there
+        return (velocity - tol * Math.signum(velocity)) / lambda;
+    }
+}
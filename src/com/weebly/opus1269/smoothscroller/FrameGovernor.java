@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Picks the frame period from how the EDT is coping. When ticks arrive late
+ * or take a large part of the frame the period is lengthened, and it is
+ * brought back to the target once the EDT is idle again. The physics
+ * integrates over the real frame time, so fewer frames still cover the
+ * same distance in the same time.
+ */
+final class FrameGovernor {
+    // Weight of the newest frame in the load estimate
+    private static final double SMOOTHING = 0.25D;
+
+    // Load, as a fraction of the frame period, above which we slow down
+    // and below which we speed up again
+    private static final double OVERLOADED = 0.5D;
+    private static final double IDLE = 0.2D;
+
+    // How fast the period changes
+    private static final double SLOW_DOWN = 1.25D;
+    private static final double SPEED_UP = 0.9D;
+
+    private long mTargetPeriodNanos = 0L;
+    private long mMaxPeriodNanos = 0L;
+    private double mPeriodNanos = 0.0D;
+
+    // Smoothed lateness plus work time, as a fraction of the period
+    private double mLoad = 0.0D;
+
+    /**
+     * Start again at the target rate.
+     *
+     * @param targetPeriodNanos period of the wanted frame rate
+     * @param maxPeriodNanos    period of the lowest acceptable frame rate
+     */
+    void reset(long targetPeriodNanos, long maxPeriodNanos) {
+        mTargetPeriodNanos = targetPeriodNanos;
+        mMaxPeriodNanos = Math.max(targetPeriodNanos, maxPeriodNanos);
+        mPeriodNanos = targetPeriodNanos;
+        mLoad = 0.0D;
+    }
+
+    /**
+     * Account for a frame.
+     *
+     * @param lateNanos how much later than expected the frame started
+     * @param workNanos how long the frame took
+     * @return the period to use from now on
+     */
+    long onFrame(long lateNanos, long workNanos) {
+        final double load = (Math.max(0L, lateNanos) + workNanos) / mPeriodNanos;
+        mLoad = SMOOTHING * load + (1.0D - SMOOTHING) * mLoad;
+
+        if (mLoad > OVERLOADED) {
+            mPeriodNanos = Math.min(mMaxPeriodNanos, mPeriodNanos * SLOW_DOWN);
+        } else if (mLoad < IDLE) {
+            mPeriodNanos = Math.max(mTargetPeriodNanos, mPeriodNanos * SPEED_UP);
+        }
+        return getPeriodNanos();
+    }
+
+    long getPeriodNanos() {
+        return Math.round(mPeriodNanos);
+    }
+
+    /**
+     * @return true if running slower than the target rate
+     */
+    boolean isThrottled() {
+        return getPeriodNanos() > mTargetPeriodNanos;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.openapi.util.SystemInfo;
+
+import javax.swing.*;
+import java.awt.Toolkit;
+
+/**
+ * Keeps the animation in step with painting. After each frame a runnable
+ * is queued behind the repaint it caused; until that has run the frame
+ * is not on screen, and the next step is held back rather than scrolling
+ * again into a frame that will never be seen. On X11 the drawing is also
+ * flushed to the server at that point, so it is shown straight away.
+ */
+final class FramePacer implements Runnable {
+    // true while the last frame has not been painted
+    private boolean mPending = false;
+
+    // true while the runnable is queued
+    private boolean mQueued = false;
+
+    // Time the last frame was painted, 0 for none since the reset
+    private long mLastPresentNanos = 0L;
+
+    /**
+     * Forget the previous frames, when the animation starts.
+     */
+    void reset() {
+        mPending = false;
+        mLastPresentNanos = 0L;
+    }
+
+    /**
+     * A frame has been drawn, find out when it is painted.
+     */
+    void onFrame() {
+        mPending = true;
+        if (!mQueued) {
+            mQueued = true;
+            SwingUtilities.invokeLater(this);
+        }
+    }
+
+    /**
+     * @return true if the last frame has been painted
+     */
+    boolean isPresented() {
+        return !mPending;
+    }
+
+    @Override
+    public void run() {
+        mQueued = false;
+        if (!mPending) {
+            return;
+        }
+        mPending = false;
+
+        if (SystemInfo.isXWindow) {
+            // X11 buffers the drawing, send it now
+            Toolkit.getDefaultToolkit().sync();
+        }
+
+        final long now = System.nanoTime();
+        if (mLastPresentNanos != 0L) {
+            ScrollStats.getInstance().recordPresent(now - mLastPresentNanos);
+        }
+        mLastPresentNanos = now;
+    }
+}
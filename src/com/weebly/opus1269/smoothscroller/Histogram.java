@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size histogram of non-negative values with power of two buckets.
+ * Values can be recorded from any thread without locking.
+ */
+final class Histogram {
+    // bucket n holds values in [2^(n-1), 2^n - 1], bucket 0 holds 0
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong mCount = new AtomicLong();
+    private final AtomicLong mSum = new AtomicLong();
+    private final AtomicLong mMax = new AtomicLong();
+
+    void record(long value) {
+        final long val = Math.max(0L, value);
+        final int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(val));
+
+        mBuckets.incrementAndGet(bucket);
+        mCount.incrementAndGet();
+        mSum.addAndGet(val);
+
+        long max = mMax.get();
+        while (val > max && !mMax.compareAndSet(max, val)) {
+            max = mMax.get();
+        }
+    }
+
+    long getCount() {
+        return mCount.get();
+    }
+
+    long getMax() {
+        return mMax.get();
+    }
+
+    double getMean() {
+        final long count = mCount.get();
+        return (count == 0L) ? 0.0D : (double) mSum.get() / count;
+    }
+
+    /**
+     * Get an upper bound for a percentile.
+     *
+     * @param fraction percentile as a fraction, 0.0 - 1.0
+     * @return largest value in the bucket holding the percentile
+     */
+    long getPercentile(double fraction) {
+        final long count = mCount.get();
+        if (count == 0L) {
+            return 0L;
+        }
+
+        final long rank = (long) Math.ceil(fraction * count);
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += mBuckets.get(i);
+            if (seen >= rank) {
+                return Math.min(mMax.get(), (i == 0) ? 0L : (1L << i) - 1L);
+            }
+        }
+        return mMax.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            mBuckets.set(i, 0L);
+        }
+        mCount.set(0L);
+        mSum.set(0L);
+        mMax.set(0L);
+    }
+
+    /**
+     * Format as count, mean, median, 99th percentile and max.
+     *
+     * @param units label for the values
+     * @return one line summary
+     */
+    String format(String units) {
+        return String.format("n=%d mean=%.1f p50=%d p99=%d max=%d %s",
+                getCount(), getMean(), getPercentile(0.5D), getPercentile(0.99D), getMax(), units);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * The original model. The velocity follows how fast the wheel is moving,
+ * within the acceleration and speed limits, and once the wheel is released
+ * the velocity decays exponentially.
+ */
+public class InertialScrollPhysics implements ScrollPhysics {
+    // The last input from the mouse wheel event
+    private double mLastWheelDelta = 0.0D;
+
+    // true while wheel input is arriving, no easing is applied
+    private boolean mScrolling = false;
+
+    // The current velocity
+    private double mVelocity = 0.0D;
+
+    // Path of the coast after release, and how far along it we are in mSec
+    private final FlingTrajectory mFling = new FlingTrajectory();
+    private boolean mFlinging = false;
+    private double mFlingMillis = 0.0D;
+
+    // Velocity of the wheel, fitted over its recent movement
+    private static final int MAX_SAMPLES = 20;
+    private static final double HORIZON_MILLIS = 100.0D;
+    private final VelocityTracker mTracker =
+            new VelocityTracker(MAX_SAMPLES, HORIZON_MILLIS, MILLIS_PER_IMPULSE);
+
+    @Override
+    public void onImpulse(double delta, long timeNanos, ScrollPhysicsConfig config) {
+        final double spdTol = config.TOL;
+        final double spdLmt = config.SPD;
+        final double accLmt = config.ACC;
+
+        // don't want to apply any easing to velocity while scrolling
+        mScrolling = true;
+        mFlinging = false;
+
+        // track wheel motion delta, the first input after a reset has nothing to reverse
+        final boolean reversed = mLastWheelDelta * delta < 0.0D;
+        mLastWheelDelta = delta;
+
+        if (reversed) {
+            // changed direction
+            zeroVelocity();
+            return;
+        }
+
+        if (Math.abs(delta / MILLIS_PER_IMPULSE) < spdTol) {
+            // skip small movements
+            return;
+        }
+
+        final double oldVelocity = mVelocity;
+
+        // velocity of the wheel over its recent movement
+        mTracker.addMovement(timeNanos, delta);
+        mVelocity = mTracker.getVelocity();
+
+        // limit acceleration
+        final double acc = (mVelocity - oldVelocity) / MILLIS_PER_IMPULSE;
+        if (Math.abs(acc) > accLmt) {
+            mVelocity = oldVelocity + accLmt * MILLIS_PER_IMPULSE * Math.signum(acc);
+        }
+
+        // limit speed
+        if (Math.abs(mVelocity) > spdLmt) {
+            mVelocity = spdLmt * Math.signum(mVelocity);
+        }
+        if (Math.abs(mVelocity) < spdTol) {
+            zeroVelocity();
+        }
+    }
+
+    @Override
+    public void onRelease() {
+        mScrolling = false;
+        mTracker.clear();
+    }
+
+    @Override
+    public double step(long dtNanos, ScrollPhysicsConfig config) {
+        final double spdTol = config.TOL;
+        final double lambda = config.FRIC;
+        final double deltaT = dtNanos / 1000000.0D;
+
+        if (!mScrolling && lambda > 0.0D) {
+            // Basic kinetic scrolling, exponential decay vel = vel0 * e^-lambda*t
+            // Each frame is read off the exact path, so it does not depend on
+            // how the time is split into frames
+            if (!mFlinging || mFling.getLambda() != lambda) {
+                mFling.start(mVelocity, lambda, spdTol);
+                mFlinging = true;
+                mFlingMillis = 0.0D;
+            }
+            final double from = mFling.getPosition(mFlingMillis);
+            mFlingMillis += deltaT;
+            final double distance = mFling.getPosition(mFlingMillis) - from;
+            mVelocity = mFling.getVelocity(mFlingMillis);
+            if (mFlingMillis >= mFling.getStopMillis()) {
+                // arrived exactly where the path ends
+                zeroVelocity();
+            }
+            return distance;
+        }
+
+        // distance moved over deltaT
+        final double distance = mVelocity * deltaT;
+
+        if (Math.abs(mVelocity) >= spdTol) {
+            return distance;
+        }
+
+        // bring to stop below threshold
+        zeroVelocity();
+        return 0.0D;
+    }
+
+    @Override
+    public double getRestDistance(ScrollPhysicsConfig config) {
+        final double lambda = config.FRIC;
+        if (mScrolling || lambda <= 0.0D) {
+            return 0.0D;
+        }
+        if (mFlinging) {
+            return mFling.getPosition(mFling.getStopMillis()) - mFling.getPosition(mFlingMillis);
+        }
+        return FlingTrajectory.getStopDistance(mVelocity, lambda, config.TOL);
+    }
+
+    @Override
+    public boolean isAtRest() {
+        return mVelocity == 0.0D;
+    }
+
+    @Override
+    public void reset() {
+        mScrolling = false;
+        mLastWheelDelta = 0.0D;
+        zeroVelocity();
+    }
+
+    private void zeroVelocity() {
+        mVelocity = 0.0D;
+        mFlinging = false;
+        mTracker.clear();
+    }
+}
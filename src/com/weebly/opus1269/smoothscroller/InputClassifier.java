@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import java.awt.event.MouseWheelEvent;
+
+/**
+ * Tells notched wheels, touchpads and the momentum the OS generates after a
+ * touchpad fling apart, from the values and timing of the wheel events.
+ * <p>
+ * Notched wheels send whole rotations, touchpads send fractions. A run of
+ * touchpad events that keeps shrinking in the same direction is the OS
+ * coasting on its own, which we must not add inertia to. The class only
+ * holds a few numbers, so classifying an event allocates nothing.
+ */
+final class InputClassifier {
+    // Rotations closer than this to a whole number came from a notched wheel
+    private static final double WHOLE_EPSILON = 1.0E-3D;
+
+    // Each fractional event adds this to the score, each whole one takes one
+    // off, so a touchpad that sends the odd whole rotation is not mistaken
+    // for a wheel
+    private static final int PRECISE_STEP = 2;
+    private static final int MAX_PRECISE_SCORE = 6;
+
+    // A pause longer than this starts a new gesture
+    private static final long GESTURE_GAP_NANOS = 150L * 1000000L;
+
+    // Events must shrink by at least this ratio to count as decaying
+    private static final double DECAY_RATIO = 0.97D;
+
+    // Number of decaying events in a row that mark the start of OS momentum
+    private static final int MOMENTUM_EVENTS = 3;
+
+    // How sure we are the device sends fractional rotations
+    private int mPreciseScore = 0;
+
+    // The previous event
+    private long mLastNanos = 0L;
+    private double mLastMagnitude = 0.0D;
+    private double mLastDirection = 0.0D;
+
+    // Decaying events in a row, and whether the OS is coasting
+    private int mDecaying = 0;
+    private boolean mMomentum = false;
+
+    // Result for the previous event
+    private InputClass mLast = InputClass.WHEEL;
+
+    /**
+     * Classify a wheel event.
+     *
+     * @param rotation   precise wheel rotation
+     * @param scrollType {@link MouseWheelEvent#getScrollType()}
+     * @param timeNanos  time of the event, from {@link System#nanoTime()}
+     * @return the kind of input the event belongs to
+     */
+    InputClass classify(double rotation, int scrollType, long timeNanos) {
+        final long gap = timeNanos - mLastNanos;
+        final boolean newGesture = mLastNanos == 0L || gap > GESTURE_GAP_NANOS;
+        mLastNanos = timeNanos;
+
+        final double magnitude = Math.abs(rotation);
+        if (magnitude == 0.0D) {
+            // carries no information
+            return mLast;
+        }
+
+        if (scrollType == MouseWheelEvent.WHEEL_BLOCK_SCROLL) {
+            // page at a time, only wheels do that
+            mPreciseScore = 0;
+        } else if (Math.abs(rotation - Math.rint(rotation)) > WHOLE_EPSILON) {
+            mPreciseScore = Math.min(MAX_PRECISE_SCORE, mPreciseScore + PRECISE_STEP);
+        } else {
+            mPreciseScore = Math.max(0, mPreciseScore - 1);
+        }
+
+        final double direction = Math.signum(rotation);
+        if (mPreciseScore == 0 || newGesture || direction != mLastDirection) {
+            mDecaying = 0;
+            mMomentum = false;
+        } else if (magnitude < mLastMagnitude * DECAY_RATIO) {
+            mDecaying++;
+        } else if (!mMomentum || magnitude > mLastMagnitude) {
+            // the OS repeats its smallest values at the end, anything
+            // else that does not shrink is a finger on the pad
+            mDecaying = 0;
+            mMomentum = false;
+        }
+        if (mDecaying >= MOMENTUM_EVENTS) {
+            mMomentum = true;
+        }
+        mLastMagnitude = magnitude;
+        mLastDirection = direction;
+
+        if (mPreciseScore == 0) {
+            mLast = InputClass.WHEEL;
+        } else {
+            mLast = mMomentum ? InputClass.MOMENTUM : InputClass.TOUCHPAD;
+        }
+        return mLast;
+    }
+
+    /**
+     * Forget everything learnt about the device.
+     */
+    void reset() {
+        mPreciseScore = 0;
+        mLastNanos = 0L;
+        mLastMagnitude = 0.0D;
+        mLastDirection = 0.0D;
+        mDecaying = 0;
+        mMomentum = false;
+        mLast = InputClass.WHEEL;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Once a fling is coasting, the offset it will stop at is known. This
+ * prepares the area around that offset a little each frame, so layout and
+ * highlighting are done before it comes into view instead of in the middle
+ * of the fling.
+ */
+final class LandingPrefetch {
+    // Longest time spent preparing in one frame
+    private static final long BUDGET_NANOS = 2L * 1000000L;
+
+    // What is scrolled
+    private final ScrollTarget mTarget;
+
+    // true from the prediction until the fling ends
+    private boolean mPredicted = false;
+
+    // The predicted offset and the tolerance for counting it as a hit
+    private int mLanding = 0;
+    private int mTolerance = 0;
+
+    // The range still to prepare
+    private int mNext = 0;
+    private int mEnd = 0;
+
+    LandingPrefetch(ScrollTarget target) {
+        mTarget = target;
+    }
+
+    /**
+     * Predict the landing when a fling starts coasting, prepare some of it,
+     * and check the prediction when it stops.
+     *
+     * @param animator the animation, just advanced a frame
+     * @param config   current settings
+     * @param moving   false if the animation has come to rest
+     */
+    void onFrame(ScrollAnimator animator, ScrollPhysicsConfig config, boolean moving) {
+        if (!mPredicted) {
+            if (moving && animator.isCoasting()) {
+                predict(animator.getLandingOffset(config));
+            }
+            return;
+        }
+
+        if (!moving) {
+            // landed
+            mPredicted = false;
+            final int distance = Math.abs(mTarget.getVerticalScrollOffset() - mLanding);
+            ScrollStats.getInstance().recordLanding(distance <= mTolerance);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        while (mNext < mEnd && (System.nanoTime() - start) < BUDGET_NANOS) {
+            mNext = mTarget.prepareVertically(mNext, mEnd);
+        }
+    }
+
+    /**
+     * The fling was interrupted, drop what is left to prepare.
+     */
+    void cancel() {
+        if (mPredicted) {
+            mPredicted = false;
+            mNext = mEnd;
+            ScrollStats.getInstance().recordLandingCancelled();
+        }
+    }
+
+    private void predict(int landing) {
+        // half a screen either side of where we land is also ready,
+        // so landing anywhere in there still finds it done
+        final int height = Math.max(0, mTarget.getVisibleHeight());
+        mTolerance = height / 2;
+        mLanding = landing;
+        mNext = Math.max(0, landing - mTolerance);
+        mEnd = landing + height + mTolerance;
+        mPredicted = true;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Model in the style of macOS. While the wheel is moving the offset follows
+ * it one to one. On release it keeps going at the speed it was last moved
+ * with and slows down under friction.
+ */
+public class MomentumScrollPhysics implements ScrollPhysics {
+    // Weight of the newest sample in the velocity estimate
+    private static final double SMOOTHING = 0.5D;
+
+    // Shortest time between impulses used for the velocity estimate, in mSec
+    private static final double MIN_IMPULSE_MILLIS = 8.0D;
+
+    // true while wheel input is arriving
+    private boolean mTracking = false;
+
+    // Input distance not yet applied
+    private double mPending = 0.0D;
+
+    // Estimated velocity of the input, then the coasting velocity
+    private double mVelocity = 0.0D;
+
+    // Time of the last impulse, from System.nanoTime()
+    private long mLastImpulseNanos = 0L;
+
+    @Override
+    public void onImpulse(double delta, long timeNanos, ScrollPhysicsConfig config) {
+        if (mVelocity * delta < 0.0D) {
+            // changed direction
+            mVelocity = 0.0D;
+        }
+
+        final double deltaT = mTracking
+                ? Math.max(MIN_IMPULSE_MILLIS, (timeNanos - mLastImpulseNanos) / 1000000.0D)
+                : MILLIS_PER_IMPULSE;
+        mTracking = true;
+        mLastImpulseNanos = timeNanos;
+        mPending += delta;
+
+        mVelocity = SMOOTHING * (delta / deltaT) + (1.0D - SMOOTHING) * mVelocity;
+        if (Math.abs(mVelocity) > config.SPD) {
+            mVelocity = config.SPD * Math.signum(mVelocity);
+        }
+    }
+
+    @Override
+    public void onRelease() {
+        mTracking = false;
+    }
+
+    @Override
+    public double step(long dtNanos, ScrollPhysicsConfig config) {
+        final double lambda = config.FRIC;
+
+        if (mTracking) {
+            // follow the input directly
+            final double distance = mPending;
+            mPending = 0.0D;
+            return distance;
+        }
+
+        // apply what is left of the input, then coast
+        double distance = mPending;
+        mPending = 0.0D;
+        if (lambda > 0.0D) {
+            final double decay = Math.exp(-lambda * dtNanos / 1000000.0D);
+            distance += mVelocity * (1.0D - decay) / lambda;
+            mVelocity = mVelocity * decay;
+        }
+        if (Math.abs(mVelocity) < config.TOL || lambda <= 0.0D) {
+            mVelocity = 0.0D;
+        }
+        return distance;
+    }
+
+    @Override
+    public double getRestDistance(ScrollPhysicsConfig config) {
+        final double lambda = config.FRIC;
+        if (mTracking || lambda <= 0.0D) {
+            return mPending;
+        }
+        return mPending + FlingTrajectory.getStopDistance(mVelocity, lambda, config.TOL);
+    }
+
+    @Override
+    public boolean isAtRest() {
+        return !mTracking && mPending == 0.0D && mVelocity == 0.0D;
+    }
+
+    @Override
+    public void reset() {
+        mTracking = false;
+        mPending = 0.0D;
+        mVelocity = 0.0D;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DataContext;
+import com.intellij.openapi.actionSystem.ex.AnActionListener;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Notices when an editor action that jumps to another part of the file is
+ * running. Only the jumps they make are animated.
+ */
+public class NavigationActionListener implements AnActionListener {
+    // Page Up/Down, Ctrl+Home/End, go to line and find next/previous
+    private static final Set<String> NAVIGATION_ACTIONS = new HashSet<String>(Arrays.asList(
+            "EditorPageUp", "EditorPageDown", "EditorPageUpWithSelection", "EditorPageDownWithSelection",
+            "EditorTextStart", "EditorTextEnd", "EditorTextStartWithSelection", "EditorTextEndWithSelection",
+            "GotoLine", "FindNext", "FindPrevious"));
+
+    // Navigation actions that are running, only touched on the EDT
+    private static int sNavigating = 0;
+
+    /**
+     * @return true if a navigation action is running
+     */
+    static boolean isNavigating() {
+        return sNavigating > 0;
+    }
+
+    @Override
+    public void beforeActionPerformed(AnAction action, DataContext dataContext, AnActionEvent event) {
+        if (isNavigation(action)) {
+            sNavigating++;
+        }
+    }
+
+    @Override
+    public void afterActionPerformed(AnAction action, DataContext dataContext, AnActionEvent event) {
+        if (isNavigation(action) && sNavigating > 0) {
+            sNavigating--;
+        }
+    }
+
+    private static boolean isNavigation(AnAction action) {
+        final String id = ActionManager.getInstance().getId(action);
+        return id != null && NAVIGATION_ACTIONS.contains(id);
+    }
+}
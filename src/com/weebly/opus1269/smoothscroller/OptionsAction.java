@@ -34,6 +34,9 @@ public class OptionsAction extends AnAction {
 
     @Override
     public void actionPerformed(AnActionEvent e) {
+        // make sure the settings are loaded
+        SmoothScrollerService.getInstance();
+
         new OptionsDialog().show();
     }
 }
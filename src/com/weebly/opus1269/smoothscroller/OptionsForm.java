@@ -33,17 +33,27 @@ import java.util.ArrayList;
  * GUI for the SmoothScroller options
  */
 public class OptionsForm implements ActionListener {
+    private JComboBox<ScrollProfile> profileComboBox;
     private JSlider thresholdSlider;
     private JSlider speedLmtSlider;
     private JSlider accLmtSlider;
     private JSlider fricSlider;
     private JSlider multSlider;
+    private JSlider fpsSlider;
+    private JComboBox<ScrollPhysicsModel> modelComboBox;
+    private JCheckBox navCheckBox;
+    private JCheckBox panesCheckBox;
     private JPanel panel;
     private JPanel itemPanel;
     private JButton resetDefaultsButton;
 
     private final ArrayList<JSlider> mList = new ArrayList<JSlider>();
 
+    // the values being edited for every profile, the sliders show one of them
+    private final int[][] mPositions;
+    private final ScrollPhysicsModel[] mModels;
+    private ScrollProfile mProfile = ScrollProfile.DEFAULT;
+
     public OptionsForm() {
         mList.add(thresholdSlider);
         mList.add(speedLmtSlider);
@@ -51,11 +61,30 @@ public class OptionsForm implements ActionListener {
         mList.add(fricSlider);
         mList.add(multSlider);
 
+        mPositions = new int[ScrollProfile.values().length][mList.size()];
+        mModels = new ScrollPhysicsModel[ScrollProfile.values().length];
+
+        for (ScrollProfile profile : ScrollProfile.values()) {
+            profileComboBox.addItem(profile);
+        }
+        for (ScrollPhysicsModel model : ScrollPhysicsModel.values()) {
+            modelComboBox.addItem(model);
+        }
+
+        profileComboBox.addActionListener(this);
         resetDefaultsButton.addActionListener(this);
     }
 
     @Override
     public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == profileComboBox) {
+            // show the values of the selected profile
+            saveControls();
+            mProfile = (ScrollProfile) profileComboBox.getSelectedItem();
+            loadControls();
+            return;
+        }
+
         Props.resetDefaults();
         setFromProps();
     }
@@ -65,34 +94,69 @@ public class OptionsForm implements ActionListener {
     }
 
     public void setToProps() {
-        int i = 0;
-        for (JSlider slider : mList) {
-            getProp(i).setPos(slider.getValue());
-            i++;
+        saveControls();
+        for (ScrollProfile profile : ScrollProfile.values()) {
+            for (int i = 0; i < mList.size(); i++) {
+                Props.get(profile, i).setPos(mPositions[profile.ordinal()][i]);
+            }
+            Props.setModel(profile, mModels[profile.ordinal()]);
         }
+        Props.getFrameRate().setPos(fpsSlider.getValue());
+        Props.setAnimateNavigation(navCheckBox.isSelected());
+        Props.setSmoothScrollPanes(panesCheckBox.isSelected());
     }
 
     public boolean isModified() {
-        int i = 0;
-        for (JSlider slider : mList) {
-            if (slider.getValue() != getProp(i).POS) {
+        saveControls();
+        for (ScrollProfile profile : ScrollProfile.values()) {
+            for (int i = 0; i < mList.size(); i++) {
+                if (mPositions[profile.ordinal()][i] != Props.get(profile, i).POS) {
+                    return true;
+                }
+            }
+            if (mModels[profile.ordinal()] != Props.getModel(profile)) {
                 return true;
             }
-            i++;
         }
-        return false;
+        return fpsSlider.getValue() != Props.getFrameRate().POS
+                || navCheckBox.isSelected() != Props.isAnimateNavigation()
+                || panesCheckBox.isSelected() != Props.isSmoothScrollPanes();
     }
 
     public void setFromProps() {
+        for (ScrollProfile profile : ScrollProfile.values()) {
+            for (int i = 0; i < mList.size(); i++) {
+                mPositions[profile.ordinal()][i] = Props.get(profile, i).POS;
+            }
+            mModels[profile.ordinal()] = Props.getModel(profile);
+        }
+        fpsSlider.setValue(Props.getFrameRate().POS);
+        navCheckBox.setSelected(Props.isAnimateNavigation());
+        panesCheckBox.setSelected(Props.isSmoothScrollPanes());
+        loadControls();
+    }
+
+    /**
+     * Copy the values of the current profile to the controls
+     */
+    private void loadControls() {
         int i = 0;
         for (JSlider slider : mList) {
-            slider.setValue(getProp(i).POS);
+            slider.setValue(mPositions[mProfile.ordinal()][i]);
             i++;
         }
+        modelComboBox.setSelectedItem(mModels[mProfile.ordinal()]);
     }
 
-    private Prop getProp(int pos) {
-        return Props.get(pos);
+    /**
+     * Copy the values of the controls to the current profile
+     */
+    private void saveControls() {
+        int i = 0;
+        for (JSlider slider : mList) {
+            mPositions[mProfile.ordinal()][i] = slider.getValue();
+            i++;
+        }
+        mModels[mProfile.ordinal()] = (ScrollPhysicsModel) modelComboBox.getSelectedItem();
     }
-
 }
@@ -24,12 +24,12 @@
 
 package com.weebly.opus1269.smoothscroller;
 
-import com.intellij.ide.util.PropertiesComponent;
-
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
- * Represents all the properties that are common to all editors
+ * Represents all the properties, one set for each {@link ScrollProfile}
+ * and the ones shared by all of them
  */
 public class Props {
 
@@ -39,34 +39,81 @@ public class Props {
     public static final int FRIC = 3;
     public static final int MULT = 4;
 
+    // the properties of each profile, in profile order
+    private static final ArrayList<ArrayList<Prop>> sProps = new ArrayList<ArrayList<Prop>>();
+
+    // there is one animation clock, so the frame rate is shared by all profiles
+    private static final Prop sFrameRate = new Prop("SmoothScrollerFrameRate",
+            (float) ScrollPhysicsConfig.DEFAULTS.FPS, (float) ScrollPhysicsConfig.LIMITS.FPS);
+
+    // the physics model to use for each profile
+    private static final String MODEL_NAME = "SmoothScrollerModel";
+    private static final ScrollPhysicsModel MODEL_DEF = ScrollPhysicsConfig.DEFAULTS.MODEL;
+    private static final ScrollPhysicsModel[] sModels = new ScrollPhysicsModel[ScrollProfile.values().length];
+
+    // whether jumps made by keyboard navigation are animated, for all profiles
+    private static final String NAV_NAME = "SmoothScrollerAnimateNavigation";
+    private static final boolean NAV_DEF = true;
+    private static volatile boolean sAnimateNavigation = NAV_DEF;
 
-    private static final ArrayList<Prop> sProps = new ArrayList<Prop>();
+    // whether trees, tool windows and other scroll panes are smooth scrolled
+    private static final String PANES_NAME = "SmoothScrollerScrollPanes";
+    private static final boolean PANES_DEF = true;
+    private static volatile boolean sSmoothScrollPanes = PANES_DEF;
 
-     /**
-     * Create the properties and load their current values from the IDE
+    // calibrated values for each kind of device, TOL to MULT, null if not calibrated
+    private static final String CALIBRATION_NAME = "SmoothScrollerCalibration.";
+    private static final double[][] sCalibrations = new double[InputClass.values().length][];
+
+    // the calibrated settings for each kind of device, replaced as a whole
+    private static volatile ScrollPhysicsConfig[] sCalibratedConfigs =
+            new ScrollPhysicsConfig[InputClass.values().length];
+
+    /**
+     * Create the properties and load their current values, replacing any loaded before
+     *
+     * @param service where the values are stored
      */
-    public static void initialize() {
-        // create the Prop objects
-        sProps.add(new Prop("SmoothScrollerThreshold", 0.0005F, 0.001F));
-        sProps.add(new Prop("SmoothScrollerSpeedLmt", 25.0F, 100.0F));
-        sProps.add(new Prop("SmoothScrollerAccLmt", 5.0F, 10.0F));
-        sProps.add(new Prop("SmoothScrollerFric", 0.005F, .015F));
-        sProps.add(new Prop("SmoothScrollerMult", 1.0F, 100.0F));
-
-        // load the current values from the IDE
-        PropertiesComponent propsComp = PropertiesComponent.getInstance();
-        for (Prop prop : sProps) {
-            prop.setVal(propsComp.getFloat(prop.NAME, prop.DEF));
+    static void initialize(SmoothScrollerService service) {
+        sProps.clear();
+
+        for (ScrollProfile profile : ScrollProfile.values()) {
+            // create the Prop objects
+            final ArrayList<Prop> props = createProps(profile);
+            sProps.add(props);
+
+            // load the current values from the IDE
+            for (Prop prop : props) {
+                prop.setVal(service.getFloat(prop.NAME, prop.DEF));
+            }
+            sModels[profile.ordinal()] =
+                    parseModel(service.getValue(MODEL_NAME + profile.getKeySuffix(), MODEL_DEF.name()));
+        }
+        sFrameRate.setVal(service.getFloat(sFrameRate.NAME, sFrameRate.DEF));
+        sAnimateNavigation = service.getBoolean(NAV_NAME, NAV_DEF);
+        sSmoothScrollPanes = service.getBoolean(PANES_NAME, PANES_DEF);
+        for (InputClass inputClass : InputClass.values()) {
+            sCalibrations[inputClass.ordinal()] =
+                    parseCalibration(service.getValue(CALIBRATION_NAME + inputClass.name(), ""));
         }
+
+        publishConfigs();
     }
 
     /**
      * Reset all values to their defaults
      */
     public static void resetDefaults() {
-        for (Prop prop : sProps) {
-            prop.setVal(prop.DEF);
+        for (ScrollProfile profile : ScrollProfile.values()) {
+            for (Prop prop : sProps.get(profile.ordinal())) {
+                prop.setVal(prop.DEF);
+            }
+            sModels[profile.ordinal()] = MODEL_DEF;
         }
+        sFrameRate.setVal(sFrameRate.DEF);
+        sAnimateNavigation = NAV_DEF;
+        sSmoothScrollPanes = PANES_DEF;
+        Arrays.fill(sCalibrations, null);
 
         storeProperties();
     }
@@ -75,14 +122,164 @@ public class Props {
      * Save properties to the IDE
      */
     public static void storeProperties() {
-        PropertiesComponent propsComp = PropertiesComponent.getInstance();
+        final SmoothScrollerService service = SmoothScrollerService.getInstance();
 
-        for (Prop prop : sProps) {
-            propsComp.setValue(prop.NAME, String.valueOf(prop.VAL));
+        for (ScrollProfile profile : ScrollProfile.values()) {
+            for (Prop prop : sProps.get(profile.ordinal())) {
+                service.setValue(prop.NAME, String.valueOf(prop.VAL));
+            }
+            service.setValue(MODEL_NAME + profile.getKeySuffix(), sModels[profile.ordinal()].name());
+        }
+        service.setValue(sFrameRate.NAME, String.valueOf(sFrameRate.VAL));
+        service.setValue(NAV_NAME, String.valueOf(sAnimateNavigation));
+        service.setValue(PANES_NAME, String.valueOf(sSmoothScrollPanes));
+        for (InputClass inputClass : InputClass.values()) {
+            service.setValue(CALIBRATION_NAME + inputClass.name(),
+                    formatCalibration(sCalibrations[inputClass.ordinal()]));
         }
+
+        publishConfigs();
     }
 
     public static Prop get(int id) {
-        return sProps.get(id);
+        return get(ScrollProfile.DEFAULT, id);
+    }
+
+    public static Prop get(ScrollProfile profile, int id) {
+        return sProps.get(profile.ordinal()).get(id);
+    }
+
+    public static Prop getFrameRate() {
+        return sFrameRate;
+    }
+
+    public static ScrollPhysicsModel getModel(ScrollProfile profile) {
+        return sModels[profile.ordinal()];
+    }
+
+    public static void setModel(ScrollProfile profile, ScrollPhysicsModel model) {
+        sModels[profile.ordinal()] = model;
+    }
+
+    public static boolean isAnimateNavigation() {
+        return sAnimateNavigation;
+    }
+
+    public static void setAnimateNavigation(boolean animate) {
+        sAnimateNavigation = animate;
+    }
+
+    public static boolean isSmoothScrollPanes() {
+        return sSmoothScrollPanes;
+    }
+
+    public static void setSmoothScrollPanes(boolean smooth) {
+        sSmoothScrollPanes = smooth;
+    }
+
+    /**
+     * Get the calibrated settings for a kind of device. They take the place
+     * of the default profile, and keep its model.
+     *
+     * @param inputClass the kind of device
+     * @return immutable snapshot of the values, null if not calibrated
+     */
+    public static ScrollPhysicsConfig getCalibratedConfig(InputClass inputClass) {
+        return sCalibratedConfigs[inputClass.ordinal()];
+    }
+
+    /**
+     * Set the calibrated settings for a kind of device, call {@link #storeProperties()} to use them.
+     *
+     * @param inputClass the kind of device, touchpad momentum shares the touchpad settings
+     * @param config     the values, null to remove the calibration
+     */
+    public static void setCalibration(InputClass inputClass, ScrollPhysicsConfig config) {
+        sCalibrations[inputClass.ordinal()] = (config == null) ? null
+                : new double[]{config.TOL, config.SPD, config.ACC, config.FRIC, config.MULT};
+    }
+
+    /**
+     * Get the current values of the default profile for use by the animation
+     *
+     * @return immutable snapshot of all the values
+     */
+    public static ScrollPhysicsConfig getConfig() {
+        return ScrollProfile.DEFAULT.getConfig();
+    }
+
+    private static ArrayList<Prop> createProps(ScrollProfile profile) {
+        final String suffix = profile.getKeySuffix();
+        final ArrayList<Prop> props = new ArrayList<Prop>();
+        final ScrollPhysicsConfig def = ScrollPhysicsConfig.DEFAULTS;
+        final ScrollPhysicsConfig max = ScrollPhysicsConfig.LIMITS;
+        props.add(new Prop("SmoothScrollerThreshold" + suffix, (float) def.TOL, (float) max.TOL));
+        props.add(new Prop("SmoothScrollerSpeedLmt" + suffix, (float) def.SPD, (float) max.SPD));
+        props.add(new Prop("SmoothScrollerAccLmt" + suffix, (float) def.ACC, (float) max.ACC));
+        props.add(new Prop("SmoothScrollerFric" + suffix, (float) def.FRIC, (float) max.FRIC));
+        props.add(new Prop("SmoothScrollerMult" + suffix, (float) def.MULT, (float) max.MULT));
+        return props;
+    }
+
+    private static ScrollPhysicsConfig createConfig(ArrayList<Prop> props, ScrollPhysicsModel model) {
+        return new ScrollPhysicsConfig(props.get(TOL).VAL, props.get(SPD).VAL, props.get(ACC).VAL,
+                props.get(FRIC).VAL, props.get(MULT).VAL, sFrameRate.VAL, model);
+    }
+
+    private static void publishConfigs() {
+        for (ScrollProfile profile : ScrollProfile.values()) {
+            profile.setConfig(createConfig(sProps.get(profile.ordinal()), sModels[profile.ordinal()]));
+        }
+
+        final ScrollPhysicsConfig defaults = ScrollProfile.DEFAULT.getConfig();
+        final ScrollPhysicsConfig[] configs = new ScrollPhysicsConfig[InputClass.values().length];
+        for (InputClass inputClass : InputClass.values()) {
+            final InputClass device = (inputClass == InputClass.MOMENTUM) ? InputClass.TOUCHPAD : inputClass;
+            final double[] values = sCalibrations[device.ordinal()];
+            if (values != null) {
+                configs[inputClass.ordinal()] = new ScrollPhysicsConfig(values[TOL], values[SPD], values[ACC],
+                        values[FRIC], values[MULT], defaults.FPS, defaults.MODEL);
+            }
+        }
+        sCalibratedConfigs = configs;
+    }
+
+    private static double[] parseCalibration(String value) {
+        final String[] parts = value.split(",");
+        if (parts.length != MULT + 1) {
+            return null;
+        }
+        final double[] values = new double[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                values[i] = Double.parseDouble(parts[i]);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return values;
+    }
+
+    private static String formatCalibration(double[] values) {
+        if (values == null) {
+            return "";
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (double value : values) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    private static ScrollPhysicsModel parseModel(String name) {
+        for (ScrollPhysicsModel model : ScrollPhysicsModel.values()) {
+            if (model.name().equals(name)) {
+                return model;
+            }
+        }
+        return MODEL_DEF;
     }
 }
@@ -24,53 +24,39 @@
 
 package com.weebly.opus1269.smoothscroller;
 
-import com.intellij.openapi.components.AbstractProjectComponent;
-import com.intellij.openapi.fileEditor.FileEditorManagerListener;
-import com.intellij.openapi.project.Project;
-import org.jetbrains.annotations.NotNull;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.intellij.openapi.ui.Messages;
+
+import java.io.File;
+import java.io.IOException;
 
 /**
- * Top level component for the plugin
- *
+ * Action to record the wheel events to a trace that can be replayed
+ * with {@link ScrollReplay}
  */
-public class SmoothScrollerPlugin extends AbstractProjectComponent {
-    private final Project mProject;
-    //private final Logger mLogger = Logger.getInstance(getClass());
-
-    public SmoothScrollerPlugin(Project project) {
-        super(project);
-
-        mProject = project;
-
-        // Initialize scroll parameters
-        Props.initialize();
-
-    }
-
-    @Override
-    public void initComponent() {
-        mProject.getMessageBus()
-                .connect()
-                .subscribe(FileEditorManagerListener.FILE_EDITOR_MANAGER, new FileEditorListener());
-
-        //mLogger.debug("SmoothScroller initialized");
-    }
-
-    @Override
-    public void disposeComponent() {
-    }
-
-    @NotNull
-    @Override
-    public String getComponentName() {
-        return "SmoothScrollerProjectComponent";
-    }
+public class RecordScrollTraceAction extends ToggleAction {
 
     @Override
-    public void projectOpened() {
+    public boolean isSelected(AnActionEvent e) {
+        return ScrollTraceRecorder.isRecording();
     }
 
     @Override
-    public void projectClosed() {
+    public void setSelected(AnActionEvent e, boolean state) {
+        if (state) {
+            try {
+                ScrollTraceRecorder.start();
+            } catch (IOException ex) {
+                Messages.showErrorDialog(e.getProject(), "Could not start recording: " + ex.getMessage(),
+                        "Smooth Scroller Trace");
+            }
+        } else {
+            final File file = ScrollTraceRecorder.stop();
+            if (file != null) {
+                Messages.showInfoMessage(e.getProject(), "Trace saved to " + file.getPath(),
+                        "Smooth Scroller Trace");
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * The scroll animation of one target, independent of where its input and
+ * frames come from. The wheel listener drives it from AWT events and the
+ * {@link ScrollScheduler}, a replay drives it from a trace and a virtual clock.
+ */
+class ScrollAnimator {
+    /**
+     * Where the time taken by each scroll of the target goes
+     */
+    interface ScrollRecorder {
+        /**
+         * Record how long it took to scroll the target.
+         *
+         * @param nanos duration of the call
+         */
+        void recordScroll(long nanos);
+    }
+
+    /**
+     * Records nothing, for scrolling that the user does not see
+     */
+    static final ScrollRecorder NO_STATS = new ScrollRecorder() {
+        @Override
+        public void recordScroll(long nanos) {
+        }
+    };
+
+    // What we are scrolling
+    private final ScrollTarget mTarget;
+
+    // Where the scroll times go
+    private final ScrollRecorder mStats;
+
+    // The state of each direction
+    private final ScrollAxis mVertical;
+    private final ScrollAxis mHorizontal;
+
+    /**
+     * Constructor.
+     *
+     * @param target what to scroll
+     * @param model  physics model for wheels
+     * @param stats  where to record scroll times, {@link ScrollStats} for live scrolling
+     */
+    ScrollAnimator(ScrollTarget target, ScrollPhysicsModel model, ScrollRecorder stats) {
+        mTarget = target;
+        mStats = stats;
+        mVertical = new ScrollAxis(false, model);
+        mHorizontal = new ScrollAxis(true, model);
+    }
+
+    /**
+     * Add wheel input.
+     *
+     * @param input      wheel rotation times the scroll amount
+     * @param horizontal true to scroll horizontally
+     * @param inputClass the kind of device it came from
+     * @param nowNanos   time of the input
+     */
+    void addInput(double input, boolean horizontal, InputClass inputClass, long nowNanos) {
+        final ScrollAxis axis = horizontal ? mHorizontal : mVertical;
+
+        // just collect the input, the next frame gives it to the physics
+        axis.addInput(input, inputClass, nowNanos);
+    }
+
+    /**
+     * @return true if moving vertically on its own after the input has stopped
+     */
+    boolean isCoasting() {
+        return mVertical.isCoasting();
+    }
+
+    /**
+     * Predict where the vertical motion will end if there is no more input.
+     *
+     * @param config current settings
+     * @return vertical offset the target will come to rest at
+     */
+    int getLandingOffset(ScrollPhysicsConfig config) {
+        return mVertical.getLandingOffset(config, mTarget);
+    }
+
+    /**
+     * Animate a jump of the target that has already happened.
+     *
+     * @param fromX         horizontal offset before the jump
+     * @param fromY         vertical offset before the jump
+     * @param toX           horizontal offset after the jump
+     * @param toY           vertical offset after the jump
+     * @param durationNanos time to take
+     */
+    void seek(int fromX, int fromY, int toX, int toY, long durationNanos) {
+        if (fromY == toY && fromX == toX) {
+            return;
+        }
+        if (fromY != toY) {
+            mVertical.seek(fromY, toY, durationNanos);
+        }
+        if (fromX != toX) {
+            mHorizontal.seek(fromX, toX, durationNanos);
+        }
+
+        // put it back where it was, one scroll for both directions
+        final long start = System.nanoTime();
+        mTarget.scroll(fromX, fromY);
+        mStats.recordScroll(System.nanoTime() - start);
+    }
+
+    /**
+     * Begin animating after being at rest.
+     *
+     * @param nowNanos current time
+     */
+    void start(long nowNanos) {
+        mVertical.start(nowNanos, mTarget);
+        mHorizontal.start(nowNanos, mTarget);
+    }
+
+    /**
+     * Advance the animation to the given time.
+     *
+     * @param nowNanos current time
+     * @param config   current settings
+     * @return true if still moving
+     */
+    boolean tick(long nowNanos, ScrollPhysicsConfig config) {
+        // no cap on the step, every engine is solved exactly in time, so after the
+        // EDT was blocked the motion is where it would have been without the stall
+        final boolean verticalMoving = mVertical.tick(nowNanos, config, mTarget);
+        final boolean horizontalMoving = mHorizontal.tick(nowNanos, config, mTarget);
+
+        if (mVertical.isChanged() || mHorizontal.isChanged()) {
+            // one scroll for both directions, so only one repaint
+            final int x = mHorizontal.isChanged() ? mHorizontal.getOffset() : mTarget.getHorizontalScrollOffset();
+            final int y = mVertical.isChanged() ? mVertical.getOffset() : mTarget.getVerticalScrollOffset();
+            final long start = System.nanoTime();
+            mTarget.scroll(x, y);
+            mStats.recordScroll(System.nanoTime() - start);
+        }
+
+        return verticalMoving || horizontalMoving;
+    }
+
+    /**
+     * Stop all motion.
+     */
+    void stop() {
+        mVertical.reset();
+        mHorizontal.reset();
+    }
+}
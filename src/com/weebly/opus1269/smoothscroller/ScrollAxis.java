@@ -0,0 +1,329 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Animation state for one direction of scrolling. Each axis has its own
+ * physics, gesture timing and position so vertical and horizontal motion
+ * don't disturb each other.
+ */
+class ScrollAxis {
+    // Quiet time after the last wheel event before the gesture is over
+    private static final long SCROLL_END_NANOS = 50L * 1000000L;
+
+    // Most wheel events held between frames, any more are added to the last one
+    private static final int MAX_EVENTS = 32;
+
+    // true for the horizontal axis
+    private final boolean mHorizontal;
+
+    // true when mouse wheel events are being processed
+    private boolean mScrolling = false;
+
+    // Time of the last mouse wheel event, from System.nanoTime()
+    private long mLastWheelNanos = 0L;
+
+    // Wheel events received since the last frame: time, input in wheel units
+    // and the kind of device each came from
+    private final long[] mEventNanos = new long[MAX_EVENTS];
+    private final double[] mEventInputs = new double[MAX_EVENTS];
+    private final InputClass[] mEventClasses = new InputClass[MAX_EVENTS];
+    private int mEventCount = 0;
+
+    // Time the engine has been advanced to, from System.nanoTime()
+    private long mEngineNanos = 0L;
+
+    // Exact scroll position, keeps the fractions of a pixel that the
+    // integer offset can't hold
+    private double mPosition = 0.0D;
+
+    // The offset we last gave the target, if it differs the target was
+    // scrolled by something else
+    private int mLastOffset = 0;
+
+    // true if the last frame changed the offset
+    private boolean mChanged = false;
+
+    // The physics model and the engine implementing it, used for wheels
+    private ScrollPhysicsModel mModel = null;
+    private ScrollPhysics mPhysics = null;
+
+    // Follows touchpads and passes OS momentum through
+    private final TrackingScrollPhysics mTracking = new TrackingScrollPhysics();
+
+    // Animates jumps made by navigation
+    private final SeekScrollPhysics mSeek = new SeekScrollPhysics();
+
+    // The one of the above that is moving us
+    private ScrollPhysics mEngine = null;
+
+    ScrollAxis(boolean horizontal, ScrollPhysicsModel model) {
+        mHorizontal = horizontal;
+        setModel(model);
+    }
+
+    /**
+     * Add wheel input. It is held until the next frame, which gives it to
+     * the physics at the time it arrived, so the motion does not depend on
+     * the frame rate.
+     *
+     * @param input      wheel rotation times the scroll amount
+     * @param inputClass the kind of device it came from
+     * @param timeNanos  time of the input, from {@link System#nanoTime()}
+     */
+    void addInput(double input, InputClass inputClass, long timeNanos) {
+        if (mEventCount == MAX_EVENTS) {
+            // frames are badly behind, fold it into the last event
+            final int last = MAX_EVENTS - 1;
+            mEventNanos[last] = timeNanos;
+            mEventInputs[last] += input;
+            mEventClasses[last] = inputClass;
+            return;
+        }
+
+        mEventNanos[mEventCount] = timeNanos;
+        mEventInputs[mEventCount] = input;
+        mEventClasses[mEventCount] = inputClass;
+        mEventCount++;
+    }
+
+    /**
+     * Animate a jump that has already been made, from the offset before it
+     * to the new offset over a fixed time. The caller puts the target back
+     * at the offset before the jump.
+     *
+     * @param from          offset before the jump
+     * @param to            offset after the jump
+     * @param durationNanos time to take
+     */
+    void seek(int from, int to, long durationNanos) {
+        // a jump overrides any wheel motion
+        mScrolling = false;
+        mEventCount = 0;
+        switchEngine(mSeek);
+
+        sync(from);
+
+        mSeek.seek(to - from, durationNanos);
+    }
+
+    /**
+     * Advance the animation. The engine is stepped from event to event, each
+     * input is given to it at the time it arrived and the release at the
+     * time the wheel went quiet, so the motion is the same at any frame rate.
+     * The target is not scrolled, if the offset changed {@link #isChanged()}
+     * is true and the caller scrolls it.
+     *
+     * @param nowNanos current time, from {@link System#nanoTime()}
+     * @param config   current settings
+     * @param target   what to scroll
+     * @return true if still moving
+     */
+    boolean tick(long nowNanos, ScrollPhysicsConfig config, ScrollTarget target) {
+        final int currentOffset = getOffset(target);
+        if (currentOffset != mLastOffset) {
+            // moved by someone else (caret, find...), continue from there
+            sync(currentOffset);
+        }
+
+        for (int i = 0; i < mEventCount; i++) {
+            final long timeNanos = Math.max(mEngineNanos, mEventNanos[i]);
+            releaseBefore(timeNanos, config, target);
+            advance(timeNanos, config, target);
+            applyInput(mEventInputs[i], mEventClasses[i], timeNanos, config);
+
+            // don't want to apply any easing to velocity while scrolling
+            mScrolling = true;
+            mLastWheelNanos = timeNanos;
+        }
+        mEventCount = 0;
+
+        releaseBefore(nowNanos, config, target);
+        advance(nowNanos, config, target);
+
+        mChanged = mLastOffset != currentOffset;
+
+        // keep getting frames until the gesture is over, even if not moving
+        return !mEngine.isAtRest() || mScrolling;
+    }
+
+    /**
+     * @return true if the last frame changed the offset
+     */
+    boolean isChanged() {
+        return mChanged;
+    }
+
+    /**
+     * @return the offset the target should be at
+     */
+    int getOffset() {
+        return mLastOffset;
+    }
+
+    /**
+     * @return true if moving on its own after the input has stopped
+     */
+    boolean isCoasting() {
+        return !mScrolling && mEventCount == 0 && !mEngine.isAtRest();
+    }
+
+    /**
+     * Predict where the motion will end if there is no more input.
+     *
+     * @param config current settings
+     * @param target what is scrolled
+     * @return offset the target will come to rest at
+     */
+    int getLandingOffset(ScrollPhysicsConfig config, ScrollTarget target) {
+        final double landing = mPosition + mEngine.getRestDistance(config);
+        final int maxOffset = Math.max(0, getMaxOffset(target));
+        return (int) Math.round(Math.max(0.0D, Math.min(maxOffset, landing)));
+    }
+
+    /**
+     * Begin animating after being at rest, taking the position from the target.
+     *
+     * @param nowNanos current time, from {@link System#nanoTime()}
+     * @param target   what is scrolled
+     */
+    void start(long nowNanos, ScrollTarget target) {
+        mEngineNanos = nowNanos;
+        sync(getOffset(target));
+    }
+
+    /**
+     * Stop all motion.
+     */
+    void reset() {
+        mScrolling = false;
+        mEventCount = 0;
+        mEngine.reset();
+    }
+
+    /**
+     * If the wheel went quiet before the given time, advance to when it
+     * did and let the engine start easing.
+     *
+     * @param timeNanos time the engine is about to be advanced to
+     * @param config    current settings
+     * @param target    what is scrolled
+     */
+    private void releaseBefore(long timeNanos, ScrollPhysicsConfig config, ScrollTarget target) {
+        if (mScrolling && (timeNanos - mLastWheelNanos) >= SCROLL_END_NANOS) {
+            advance(mLastWheelNanos + SCROLL_END_NANOS, config, target);
+            mScrolling = false;
+            mEngine.onRelease();
+        }
+    }
+
+    /**
+     * Step the engine up to a time and move by the distance it gives.
+     *
+     * @param timeNanos time to advance to, nothing happens if it has passed
+     * @param config    current settings
+     * @param target    what is scrolled
+     */
+    private void advance(long timeNanos, ScrollPhysicsConfig config, ScrollTarget target) {
+        final long dtNanos = timeNanos - mEngineNanos;
+        if (dtNanos <= 0L) {
+            return;
+        }
+        mEngineNanos = timeNanos;
+
+        final double distance = mEngine.step(dtNanos, config);
+        if (distance == 0.0D) {
+            return;
+        }
+
+        // reposition cursor offset based on distance travelled
+        final double position = mPosition + distance;
+        final int maxOffset = Math.max(0, getMaxOffset(target));
+        if (position < 0.0D || position > maxOffset) {
+            // ran into an end, nowhere left to go
+            mPosition = (position < 0.0D) ? 0.0D : maxOffset;
+            mEngine.reset();
+        } else {
+            mPosition = position;
+        }
+        mLastOffset = (int) Math.round(mPosition);
+    }
+
+    /**
+     * Give one wheel event to the engine for its device.
+     *
+     * @param input      wheel rotation times the scroll amount
+     * @param inputClass the kind of device it came from
+     * @param timeNanos  time of the input
+     * @param config     current settings
+     */
+    private void applyInput(double input, InputClass inputClass, long timeNanos, ScrollPhysicsConfig config) {
+        if (config.MODEL != mModel) {
+            // the user picked a different model
+            setModel(config.MODEL);
+        }
+
+        if (inputClass == InputClass.WHEEL) {
+            // also takes over from a seek where it got to
+            switchEngine(mPhysics);
+        } else {
+            // the OS momentum is already smooth
+            mTracking.setSmoothing(inputClass == InputClass.TOUCHPAD);
+            switchEngine(mTracking);
+        }
+
+        mEngine.onImpulse(input * config.MULT, timeNanos, config);
+    }
+
+    private void sync(int offset) {
+        mPosition = offset;
+        mLastOffset = offset;
+    }
+
+    private int getOffset(ScrollTarget target) {
+        return mHorizontal ? target.getHorizontalScrollOffset() : target.getVerticalScrollOffset();
+    }
+
+    private int getMaxOffset(ScrollTarget target) {
+        return mHorizontal ? target.getMaxHorizontalScrollOffset() : target.getMaxVerticalScrollOffset();
+    }
+
+    private void setModel(ScrollPhysicsModel model) {
+        final boolean active = mEngine == mPhysics;
+        mModel = model;
+        mPhysics = model.create();
+        if (active) {
+            mEngine = mPhysics;
+        }
+    }
+
+    private void switchEngine(ScrollPhysics engine) {
+        if (engine != mEngine) {
+            // the old engine's motion is dropped, the new one starts from here
+            mEngine.reset();
+            mEngine = engine;
+        }
+    }
+}
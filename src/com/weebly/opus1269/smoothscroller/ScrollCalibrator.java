@@ -0,0 +1,413 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import java.awt.event.MouseWheelEvent;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds settings that make a device feel like a standard notched wheel
+ * with the default settings. A recorded session is split into gestures,
+ * each is replayed with {@link ScrollReplay}, and the settings are searched
+ * one at a time for the smallest difference from the reference:
+ * <ul>
+ * <li>The smallest gestures scroll as far as a single notch of the reference.</li>
+ * <li>Bigger gestures grow the way the reference grows from a notch to a fling.</li>
+ * <li>The biggest gestures come to rest in the time a reference fling does.</li>
+ * </ul>
+ * A touchpad is followed directly rather than by the physics, so only its
+ * multiplier is searched, its distance should grow in step with the gesture
+ * and there is no fling to settle.
+ * Runs without the IDE.
+ */
+final class ScrollCalibrator {
+    // A pause longer than this, or a change of direction, ends a gesture
+    static final long GESTURE_GAP_NANOS = 150L * 1000000L;
+
+    // Fewest gestures worth calibrating from
+    static final int MIN_GESTURES = 8;
+
+    // The reference wheel: scroll amount, events in a fling and the time between them
+    private static final int REF_AMOUNT = 3;
+    private static final int REF_FLING_EVENTS = 10;
+    private static final long REF_FLING_NANOS = 30L * 1000000L;
+
+    // Index of each setting in the search
+    private static final int TOL = 0;
+    private static final int SPD = 1;
+    private static final int ACC = 2;
+    private static final int FRIC = 3;
+    private static final int MULT = 4;
+
+    // Values tried for each setting, as multiples of its current value
+    private static final double[] STEPS = {0.25D, 0.5D, 0.7D, 0.85D, 1.2D, 1.4D, 2.0D, 4.0D};
+    private static final int PASSES = 3;
+
+    // Weight of the settle time against the distances
+    private static final double SETTLE_WEIGHT = 0.5D;
+
+    // Gestures at or below this percentile count as the smallest deliberate scroll,
+    // at or above this one as flings
+    private static final double UNIT_PERCENTILE = 0.1D;
+    private static final double FLING_PERCENTILE = 0.75D;
+
+    /**
+     * The outcome of a calibration
+     */
+    static final class Result {
+        final InputClass INPUT_CLASS;
+        final ScrollPhysicsConfig CONFIG;
+        final int GESTURES;
+        // wheel events per second while gesturing
+        final double EVENT_RATE;
+        // median size of a single event, in wheel units
+        final double MEDIAN_DELTA;
+        // median time between the events of a gesture
+        final long MEDIAN_INTERVAL_NANOS;
+        // difference from the reference before and after
+        final double ERROR_BEFORE;
+        final double ERROR_AFTER;
+
+        Result(InputClass inputClass, ScrollPhysicsConfig config, int gestures, double eventRate,
+               double medianDelta, long medianIntervalNanos, double errorBefore, double errorAfter) {
+            INPUT_CLASS = inputClass;
+            CONFIG = config;
+            GESTURES = gestures;
+            EVENT_RATE = eventRate;
+            MEDIAN_DELTA = medianDelta;
+            MEDIAN_INTERVAL_NANOS = medianIntervalNanos;
+            ERROR_BEFORE = errorBefore;
+            ERROR_AFTER = errorAfter;
+        }
+
+        /**
+         * @return description for the user, one item per line
+         */
+        String format() {
+            final String settings = isPhysicsTuned(INPUT_CLASS)
+                    ? String.format("Threshold %.5f, Speed %.2f, Acceleration %.2f, Friction %.5f, Multiplier %.2f",
+                    CONFIG.TOL, CONFIG.SPD, CONFIG.ACC, CONFIG.FRIC, CONFIG.MULT)
+                    : String.format("Multiplier %.2f, the other settings do not apply to a touchpad", CONFIG.MULT);
+            return "Device: " + INPUT_CLASS + "\n" +
+                    "Gestures: " + GESTURES + "\n" +
+                    String.format("Events / sec: %.0f\n", EVENT_RATE) +
+                    String.format("Median event size: %.3f\n", MEDIAN_DELTA) +
+                    "Median event interval: " + (MEDIAN_INTERVAL_NANOS / 1000000L) + " mSec\n" +
+                    String.format("Error: %.3f before, %.3f after\n", ERROR_BEFORE, ERROR_AFTER) +
+                    settings;
+        }
+    }
+
+    /**
+     * What a device should do, worked out from the reference wheel
+     */
+    private static final class Reference {
+        // distance of a single notch
+        final double NOTCH;
+        // how the distance grows with the size of a gesture
+        final double EXPONENT;
+        // time for a fling to come to rest
+        final double SETTLE_NANOS;
+
+        Reference(ScrollPhysicsConfig config) {
+            final ArrayList<ScrollTrace.Event> events = new ArrayList<ScrollTrace.Event>();
+            events.add(new ScrollTrace.Event(0L, 1.0D, REF_AMOUNT, 0));
+            NOTCH = Math.max(1.0D, ScrollReplay.replay(new ScrollTrace(events), config).DISTANCE);
+
+            for (int i = 1; i < REF_FLING_EVENTS; i++) {
+                events.add(new ScrollTrace.Event(i * REF_FLING_NANOS, 1.0D, REF_AMOUNT, 0));
+            }
+            final ScrollReplay.Result fling = ScrollReplay.replay(new ScrollTrace(events), config);
+            EXPONENT = Math.log(Math.max(1.0D, fling.DISTANCE) / NOTCH) / Math.log(REF_FLING_EVENTS);
+            SETTLE_NANOS = fling.SETTLE_NANOS;
+        }
+    }
+
+    /**
+     * Follows a calibration, which replays every gesture many times
+     */
+    interface Progress {
+        /**
+         * @param fraction how much of the search is done, 0 to 1
+         */
+        void setFraction(double fraction);
+
+        /**
+         * Called between replays, throws to stop the calibration.
+         */
+        void checkCanceled();
+    }
+
+    /**
+     * Shows nothing and never stops
+     */
+    static final Progress NO_PROGRESS = new Progress() {
+        @Override
+        public void setFraction(double fraction) {
+        }
+
+        @Override
+        public void checkCanceled() {
+        }
+    };
+
+    private ScrollCalibrator() {
+    }
+
+    /**
+     * Calibrate from a recorded session.
+     *
+     * @param trace the session
+     * @param start settings to start the search from, the frame rate and model are kept,
+     *              and so are the physics settings of a touchpad
+     * @return the best settings found, null if the session is too short
+     */
+    static Result calibrate(ScrollTrace trace, ScrollPhysicsConfig start) {
+        return calibrate(trace, start, NO_PROGRESS);
+    }
+
+    /**
+     * Calibrate from a recorded session, reporting progress.
+     *
+     * @param trace    the session
+     * @param start    settings to start the search from, the frame rate and model are kept,
+     *                 and so are the physics settings of a touchpad
+     * @param progress told how far the search has got, may stop it by throwing
+     * @return the best settings found, null if the session is too short
+     */
+    static Result calibrate(ScrollTrace trace, ScrollPhysicsConfig start, Progress progress) {
+        final List<ScrollTrace> gestures = splitGestures(trace);
+        if (gestures.size() < MIN_GESTURES) {
+            return null;
+        }
+
+        final ScrollPhysicsConfig defaults = ScrollPhysicsConfig.DEFAULTS;
+        final Reference reference = new Reference(new ScrollPhysicsConfig(defaults.TOL, defaults.SPD,
+                defaults.ACC, defaults.FRIC, defaults.MULT, start.FPS, start.MODEL));
+        final InputClass inputClass = getInputClass(trace);
+        final boolean physics = isPhysicsTuned(inputClass);
+
+        // the size of each gesture relative to the smallest ones, and what it should do
+        final double[] sizes = new double[gestures.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = getSize(gestures.get(i));
+        }
+        final double[] sorted = sizes.clone();
+        Arrays.sort(sorted);
+        final double unit = Math.max(1.0E-6D, sorted[(int) (UNIT_PERCENTILE * (sorted.length - 1))]);
+        // a touchpad moves in step with the fingers and never flings on its own
+        final double exponent = physics ? reference.EXPONENT : 1.0D;
+        final double flingSize = physics
+                ? sorted[(int) (FLING_PERCENTILE * (sorted.length - 1))] : Double.POSITIVE_INFINITY;
+        final double[] targets = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            targets[i] = reference.NOTCH * Math.pow(sizes[i] / unit, exponent);
+        }
+
+        // search each setting in turn, keeping any value that is better
+        final double[] values = toValues(start);
+        final double[] limits = toValues(ScrollPhysicsConfig.LIMITS);
+        final double errorBefore = getError(gestures, sizes, targets, flingSize, reference, toConfig(values, start));
+        double error = errorBefore;
+        final int first = physics ? TOL : MULT;
+        final int total = PASSES * (MULT - first + 1) * STEPS.length;
+        int done = 0;
+        for (int pass = 0; pass < PASSES; pass++) {
+            for (int id = first; id <= MULT; id++) {
+                final double max = limits[id];
+                final double current = values[id];
+                double best = current;
+                for (double step : STEPS) {
+                    progress.checkCanceled();
+                    progress.setFraction((double) done++ / total);
+                    values[id] = Math.max(max / 1000.0D, Math.min(max, current * step));
+                    final double candidate =
+                            getError(gestures, sizes, targets, flingSize, reference, toConfig(values, start));
+                    if (candidate < error) {
+                        error = candidate;
+                        best = values[id];
+                    }
+                }
+                values[id] = best;
+            }
+        }
+
+        return new Result(inputClass, toConfig(values, start), gestures.size(), getEventRate(gestures),
+                getMedianDelta(trace), getMedianInterval(gestures), errorBefore, error);
+    }
+
+    /**
+     * Split a session into gestures, leaving out sideways scrolling.
+     *
+     * @param trace the session
+     * @return one trace per gesture
+     */
+    static List<ScrollTrace> splitGestures(ScrollTrace trace) {
+        final ArrayList<ScrollTrace> gestures = new ArrayList<ScrollTrace>();
+        ArrayList<ScrollTrace.Event> current = new ArrayList<ScrollTrace.Event>();
+        ScrollTrace.Event last = null;
+        for (ScrollTrace.Event event : trace.getEvents()) {
+            if (event.isHorizontal() || event.ROTATION == 0.0D) {
+                continue;
+            }
+            if (last != null && ((event.TIME - last.TIME) > GESTURE_GAP_NANOS
+                    || Math.signum(event.ROTATION) != Math.signum(last.ROTATION))) {
+                gestures.add(new ScrollTrace(current));
+                current = new ArrayList<ScrollTrace.Event>();
+            }
+            current.add(event);
+            last = event;
+        }
+        if (!current.isEmpty()) {
+            gestures.add(new ScrollTrace(current));
+        }
+        return gestures;
+    }
+
+    /**
+     * @param inputClass kind of device
+     * @return true if the device is animated by the physics, so all its settings are searched
+     */
+    private static boolean isPhysicsTuned(InputClass inputClass) {
+        return inputClass == InputClass.WHEEL;
+    }
+
+    private static double getError(List<ScrollTrace> gestures, double[] sizes, double[] targets, double flingSize,
+                                   Reference reference, ScrollPhysicsConfig config) {
+        // compare on a log scale so being twice as far is as bad as half as far
+        double distanceError = 0.0D;
+        double settleError = 0.0D;
+        int flings = 0;
+        for (int i = 0; i < gestures.size(); i++) {
+            final ScrollReplay.Result result = ScrollReplay.replay(gestures.get(i), config);
+            final double distance = Math.log((result.DISTANCE + 1.0D) / (targets[i] + 1.0D));
+            distanceError += distance * distance;
+            if (sizes[i] >= flingSize) {
+                final double settle = Math.log((result.SETTLE_NANOS + 1.0E6D) / (reference.SETTLE_NANOS + 1.0E6D));
+                settleError += settle * settle;
+                flings++;
+            }
+        }
+        return distanceError / gestures.size() + SETTLE_WEIGHT * settleError / Math.max(1, flings);
+    }
+
+    private static double[] toValues(ScrollPhysicsConfig config) {
+        return new double[]{config.TOL, config.SPD, config.ACC, config.FRIC, config.MULT};
+    }
+
+    private static ScrollPhysicsConfig toConfig(double[] values, ScrollPhysicsConfig start) {
+        return new ScrollPhysicsConfig(values[TOL], values[SPD], values[ACC], values[FRIC], values[MULT],
+                start.FPS, start.MODEL);
+    }
+
+    private static double getSize(ScrollTrace gesture) {
+        double size = 0.0D;
+        for (ScrollTrace.Event event : gesture.getEvents()) {
+            size += event.getInput();
+        }
+        return Math.abs(size);
+    }
+
+    private static InputClass getInputClass(ScrollTrace trace) {
+        final InputClassifier classifier = new InputClassifier();
+        int wheel = 0;
+        int touchpad = 0;
+        for (ScrollTrace.Event event : trace.getEvents()) {
+            if (classifier.classify(event.ROTATION, MouseWheelEvent.WHEEL_UNIT_SCROLL, event.TIME) == InputClass.WHEEL) {
+                wheel++;
+            } else {
+                touchpad++;
+            }
+        }
+        return (wheel >= touchpad) ? InputClass.WHEEL : InputClass.TOUCHPAD;
+    }
+
+    private static double getEventRate(List<ScrollTrace> gestures) {
+        long events = 0L;
+        long nanos = 0L;
+        for (ScrollTrace gesture : gestures) {
+            final List<ScrollTrace.Event> list = gesture.getEvents();
+            if (list.size() > 1) {
+                events += list.size() - 1;
+                nanos += list.get(list.size() - 1).TIME - list.get(0).TIME;
+            }
+        }
+        return (nanos > 0L) ? events * 1.0E9D / nanos : 0.0D;
+    }
+
+    private static double getMedianDelta(ScrollTrace trace) {
+        final List<ScrollTrace.Event> events = trace.getEvents();
+        final double[] deltas = new double[events.size()];
+        for (int i = 0; i < deltas.length; i++) {
+            deltas[i] = Math.abs(events.get(i).ROTATION);
+        }
+        Arrays.sort(deltas);
+        return (deltas.length > 0) ? deltas[deltas.length / 2] : 0.0D;
+    }
+
+    private static long getMedianInterval(List<ScrollTrace> gestures) {
+        final ArrayList<Long> intervals = new ArrayList<Long>();
+        for (ScrollTrace gesture : gestures) {
+            final List<ScrollTrace.Event> list = gesture.getEvents();
+            for (int i = 1; i < list.size(); i++) {
+                intervals.add(list.get(i).TIME - list.get(i - 1).TIME);
+            }
+        }
+        if (intervals.isEmpty()) {
+            return 0L;
+        }
+        final Long[] sorted = intervals.toArray(new Long[intervals.size()]);
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Calibrate from trace files with the default settings and print the results.
+     *
+     * @param args trace files, each is calibrated on its own
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ScrollCalibrator <trace>...");
+            return;
+        }
+
+        for (String file : args) {
+            final InputStream in = new FileInputStream(file);
+            try {
+                System.out.println("# " + file);
+                final Result result = calibrate(ScrollTrace.read(in), ScrollPhysicsConfig.DEFAULTS);
+                System.out.println((result == null) ? "Too few gestures, need " + MIN_GESTURES : result.format());
+            } finally {
+                in.close();
+            }
+        }
+    }
+}
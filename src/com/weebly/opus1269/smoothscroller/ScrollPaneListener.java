@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.ide.ApplicationInitializedListener;
+
+import javax.swing.*;
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelListener;
+
+/**
+ * Adds smooth scrolling to the other scroll panes of the IDE, such as the
+ * Project tree, tool windows and the VCS log. It watches the wheel events
+ * of the whole application and takes over a scroll pane the first time it
+ * is scrolled. All of them share the one {@link ScrollScheduler}.
+ */
+public class ScrollPaneListener implements ApplicationInitializedListener, AWTEventListener {
+    // Client properties of a scroll pane, set once it has been looked at
+    private static final String LISTENER_PROPERTY = "SmoothScrollerMouseWheelListener";
+    private static final String TARGET_PROPERTY = "SmoothScrollerViewportTarget";
+
+    @Override
+    public void componentsInitialized() {
+        Toolkit.getDefaultToolkit().addAWTEventListener(this, AWTEvent.MOUSE_WHEEL_EVENT_MASK);
+    }
+
+    @Override
+    public void eventDispatched(AWTEvent event) {
+        if (event.getID() != MouseEvent.MOUSE_WHEEL) {
+            return;
+        }
+
+        final Component source = ((MouseEvent) event).getComponent();
+        final JScrollPane scrollPane = (source instanceof JScrollPane) ? (JScrollPane) source
+                : (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, source);
+        if (scrollPane == null) {
+            return;
+        }
+
+        // this also loads the settings on the first scroll
+        SmoothScrollerService.getInstance();
+
+        final Object listener = scrollPane.getClientProperty(LISTENER_PROPERTY);
+        if (!Props.isSmoothScrollPanes()) {
+            if (listener instanceof SmoothScrollerMouseWheelListener) {
+                detach(scrollPane, (SmoothScrollerMouseWheelListener) listener);
+            }
+            return;
+        }
+        if (listener == null) {
+            // attached before the event reaches the scroll pane, so it handles this one too
+            attach(scrollPane);
+        }
+    }
+
+    private static void attach(JScrollPane scrollPane) {
+        final JViewport viewport = scrollPane.getViewport();
+        if (!scrollPane.isWheelScrollingEnabled() || viewport == null || isEditor(viewport.getView())) {
+            // someone else is handling the wheel, don't look again
+            scrollPane.putClientProperty(LISTENER_PROPERTY, Boolean.FALSE);
+            return;
+        }
+
+        final ViewportScrollTarget target = new ViewportScrollTarget(viewport);
+        final SmoothScrollerMouseWheelListener listener =
+                new SmoothScrollerMouseWheelListener(target, ScrollProfile.DEFAULT, null);
+
+        // we do the scrolling now
+        scrollPane.setWheelScrollingEnabled(false);
+        scrollPane.addMouseWheelListener(listener);
+        scrollPane.putClientProperty(TARGET_PROPERTY, target);
+        scrollPane.putClientProperty(LISTENER_PROPERTY, listener);
+    }
+
+    private static void detach(JScrollPane scrollPane, SmoothScrollerMouseWheelListener listener) {
+        listener.stopAnimating();
+        scrollPane.removeMouseWheelListener(listener);
+        scrollPane.setWheelScrollingEnabled(true);
+
+        final Object target = scrollPane.getClientProperty(TARGET_PROPERTY);
+        if (target instanceof ViewportScrollTarget) {
+            ((ViewportScrollTarget) target).restore();
+        }
+        scrollPane.putClientProperty(TARGET_PROPERTY, null);
+        scrollPane.putClientProperty(LISTENER_PROPERTY, null);
+    }
+
+    /**
+     * @return true if the view is an editor, they get their own listener
+     */
+    private static boolean isEditor(Component view) {
+        if (view == null) {
+            return false;
+        }
+        for (MouseWheelListener listener : view.getMouseWheelListeners()) {
+            if (listener instanceof SmoothScrollerMouseWheelListener) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
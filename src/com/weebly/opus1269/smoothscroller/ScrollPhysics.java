@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * A model of how the scroll offset responds to wheel input.
+ * Implementations have no IDE dependencies so they can be exercised on their own.
+ * Distances are in pixels, velocities in pixels / mSec.
+ */
+public interface ScrollPhysics {
+    /**
+     * Time over which the motion of a single wheel event is spread.
+     * The speed and acceleration settings are expressed relative to this.
+     */
+    double MILLIS_PER_IMPULSE = 50.0D;
+
+    /**
+     * Apply wheel input.
+     *
+     * @param delta     scroll distance requested by the input
+     * @param timeNanos time of the input, from {@link System#nanoTime()}
+     * @param config    current settings
+     */
+    void onImpulse(double delta, long timeNanos, ScrollPhysicsConfig config);
+
+    /**
+     * The wheel input has stopped, the model may start coasting.
+     */
+    void onRelease();
+
+    /**
+     * Advance the model.
+     *
+     * @param dtNanos time since the last step
+     * @param config  current settings
+     * @return distance to move the scroll offset
+     */
+    double step(long dtNanos, ScrollPhysicsConfig config);
+
+    /**
+     * Predict how much further the model will move if there is no more input.
+     *
+     * @param config current settings
+     * @return distance to where it will come to rest
+     */
+    double getRestDistance(ScrollPhysicsConfig config);
+
+    /**
+     * @return true if there is no more motion to apply
+     */
+    boolean isAtRest();
+
+    /**
+     * Stop all motion and forget any input history.
+     */
+    void reset();
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Immutable snapshot of the scroll properties. A new one is published
+ * by {@link Props} whenever the values change, so a reader always sees a
+ * consistent set.
+ */
+public final class ScrollPhysicsConfig {
+    // Lowest frame rate we will ever run at
+    static final double MIN_FRAMES_PER_SECOND = 10.0D;
+
+    /**
+     * The values of a fresh install, does not need the IDE
+     */
+    public static final ScrollPhysicsConfig DEFAULTS =
+            new ScrollPhysicsConfig(0.0005F, 25.0F, 5.0F, 0.005F, 1.0F, 60.0F, ScrollPhysicsModel.INERTIAL);
+
+    /**
+     * The largest value of each setting, the model is unused
+     */
+    public static final ScrollPhysicsConfig LIMITS =
+            new ScrollPhysicsConfig(0.001F, 100.0F, 10.0F, 0.015F, 100.0F, 144.0F, ScrollPhysicsModel.INERTIAL);
+
+    public final double TOL;
+    public final double SPD;
+    public final double ACC;
+    public final double FRIC;
+    public final double MULT;
+    public final double FPS;
+    public final ScrollPhysicsModel MODEL;
+
+    public ScrollPhysicsConfig(double tol, double spd, double acc, double fric, double mult, double fps,
+                               ScrollPhysicsModel model) {
+        TOL = tol;
+        SPD = spd;
+        ACC = acc;
+        FRIC = fric;
+        MULT = mult;
+        FPS = fps;
+        MODEL = model;
+    }
+
+    /**
+     * Get the time between frames at the frame rate.
+     *
+     * @return milliseconds between frames
+     */
+    int getFrameMillis() {
+        final double fps = Math.max(MIN_FRAMES_PER_SECOND, FPS);
+        return Math.max(1, (int) Math.round(1000.0D / fps));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * The available scroll physics models
+ */
+public enum ScrollPhysicsModel {
+    INERTIAL("Inertial"),
+    SPRING("Critically Damped Spring"),
+    MOMENTUM("Momentum");
+
+    private final String mName;
+
+    ScrollPhysicsModel(String name) {
+        mName = name;
+    }
+
+    /**
+     * Create a new instance of the model.
+     *
+     * @return physics engine in its rest state
+     */
+    public ScrollPhysics create() {
+        switch (this) {
+            case SPRING:
+                return new SpringScrollPhysics();
+            case MOMENTUM:
+                return new MomentumScrollPhysics();
+            default:
+                return new InertialScrollPhysics();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return mName;
+    }
+}
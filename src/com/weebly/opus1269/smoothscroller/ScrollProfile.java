@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorKind;
+import com.intellij.openapi.vfs.VirtualFile;
+
+/**
+ * A set of scroll properties for one kind of editor. The profile is picked
+ * once when smooth scrolling is added to an editor, and holds the current
+ * values so the animation can read them without any lookup.
+ */
+public enum ScrollProfile {
+    DEFAULT("Default", ""),
+    LARGE_FILE("Large Files", ".large"),
+    LOG("Log Files", ".log"),
+    DIFF("Diff Viewers", ".diff"),
+    CONSOLE("Consoles", ".console");
+
+    // Files larger than this use the large file profile
+    private static final long LARGE_FILE_BYTES = 1024L * 1024L;
+
+    private final String mName;
+    private final String mKeySuffix;
+
+    // the current values, replaced as a whole whenever they change
+    private volatile ScrollPhysicsConfig mConfig = null;
+
+    ScrollProfile(String name, String keySuffix) {
+        mName = name;
+        mKeySuffix = keySuffix;
+    }
+
+    /**
+     * Pick the profile for an editor.
+     *
+     * @param editor the editor
+     * @param file   the file it shows, may be null
+     * @return the profile to use
+     */
+    public static ScrollProfile resolve(Editor editor, VirtualFile file) {
+        final EditorKind kind = editor.getEditorKind();
+        if (kind == EditorKind.DIFF) {
+            return DIFF;
+        }
+        if (kind == EditorKind.CONSOLE) {
+            return CONSOLE;
+        }
+
+        if (file != null) {
+            if ("log".equalsIgnoreCase(file.getExtension())) {
+                return LOG;
+            }
+            if (file.getLength() > LARGE_FILE_BYTES) {
+                return LARGE_FILE;
+            }
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * @return suffix added to the names of the stored properties
+     */
+    String getKeySuffix() {
+        return mKeySuffix;
+    }
+
+    /**
+     * Get the current values for use by the animation
+     *
+     * @return immutable snapshot of all the values
+     */
+    public ScrollPhysicsConfig getConfig() {
+        return mConfig;
+    }
+
+    void setConfig(ScrollPhysicsConfig config) {
+        mConfig = config;
+    }
+
+    @Override
+    public String toString() {
+        return mName;
+    }
+}
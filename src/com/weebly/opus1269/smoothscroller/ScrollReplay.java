@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import java.awt.event.MouseWheelEvent;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a {@link ScrollTrace} through the scroll animation without the IDE.
+ * Time is virtual, so a session replays as fast as the physics can run and
+ * always gives the same result.
+ */
+final class ScrollReplay {
+    // Give up if the animation has not come to rest this long after the last event
+    private static final long MAX_SETTLE_NANOS = 60L * 1000000000L;
+
+    /**
+     * The offsets after one frame, relative to the start
+     */
+    static final class Frame {
+        final long TIME;
+        final int VERTICAL;
+        final int HORIZONTAL;
+
+        Frame(long time, int vertical, int horizontal) {
+            TIME = time;
+            VERTICAL = vertical;
+            HORIZONTAL = horizontal;
+        }
+    }
+
+    /**
+     * The outcome of a replay
+     */
+    static final class Result {
+        final List<Frame> FRAMES;
+        // total distance scrolled on both axes
+        final long DISTANCE;
+        // time from the last event until the animation came to rest
+        final long SETTLE_NANOS;
+
+        Result(List<Frame> frames, long distance, long settleNanos) {
+            FRAMES = frames;
+            DISTANCE = distance;
+            SETTLE_NANOS = settleNanos;
+        }
+
+        /**
+         * Write in a line based text form, suitable for comparing runs.
+         *
+         * @param out destination
+         */
+        void write(PrintStream out) {
+            out.println("frames " + FRAMES.size());
+            out.println("distance " + DISTANCE);
+            out.println("settle_ms " + (SETTLE_NANOS / 1000000L));
+            for (Frame frame : FRAMES) {
+                out.println((frame.TIME / 1000000L) + " " + frame.VERTICAL + " " + frame.HORIZONTAL);
+            }
+        }
+    }
+
+    private ScrollReplay() {
+    }
+
+    /**
+     * Replay a trace, with frames at the rate the scheduler would use.
+     *
+     * @param trace  the wheel events
+     * @param config settings to use
+     * @return the resulting motion
+     */
+    static Result replay(ScrollTrace trace, ScrollPhysicsConfig config) {
+        final long period = config.getFrameMillis() * 1000000L;
+        final List<ScrollTrace.Event> events = trace.getEvents();
+        final VirtualScrollTarget target = new VirtualScrollTarget();
+        final ScrollAnimator animator = new ScrollAnimator(target, config.MODEL, ScrollAnimator.NO_STATS);
+        final InputClassifier classifier = new InputClassifier();
+        final ArrayList<Frame> frames = new ArrayList<Frame>();
+
+        int next = 0;
+        boolean animating = false;
+        long frameTime = 0L;
+        long lastEventTime = 0L;
+
+        while (next < events.size() || animating) {
+            if (!animating) {
+                // at rest, skip ahead to the next event
+                final ScrollTrace.Event event = events.get(next++);
+                addInput(animator, classifier, event);
+                animator.start(event.TIME);
+                animating = true;
+                lastEventTime = event.TIME;
+                frameTime = event.TIME + period;
+            }
+
+            // deliver everything that arrived before this frame
+            while (next < events.size() && events.get(next).TIME <= frameTime) {
+                final ScrollTrace.Event event = events.get(next++);
+                addInput(animator, classifier, event);
+                lastEventTime = event.TIME;
+            }
+
+            animating = animator.tick(frameTime, config);
+            frames.add(new Frame(frameTime, target.getVerticalScrollOffset() - VirtualScrollTarget.START_OFFSET,
+                    target.getHorizontalScrollOffset() - VirtualScrollTarget.START_OFFSET));
+
+            if (next == events.size() && (frameTime - lastEventTime) > MAX_SETTLE_NANOS) {
+                break;
+            }
+            frameTime += period;
+        }
+
+        final long lastFrameTime = frames.isEmpty() ? 0L : frames.get(frames.size() - 1).TIME;
+        return new Result(frames, target.getDistance(), Math.max(0L, lastFrameTime - lastEventTime));
+    }
+
+    private static void addInput(ScrollAnimator animator, InputClassifier classifier, ScrollTrace.Event event) {
+        // traces do not record the scroll type
+        final InputClass inputClass =
+                classifier.classify(event.ROTATION, MouseWheelEvent.WHEEL_UNIT_SCROLL, event.TIME);
+        animator.addInput(event.getInput(), event.isHorizontal(), inputClass, event.TIME);
+    }
+
+    /**
+     * Replay trace files with the default settings and print the results.
+     *
+     * @param args trace files, optionally followed by a {@link ScrollPhysicsModel} name
+     */
+    public static void main(String[] args) throws IOException {
+        ScrollPhysicsConfig config = ScrollPhysicsConfig.DEFAULTS;
+        final ArrayList<String> files = new ArrayList<String>();
+        for (String arg : args) {
+            ScrollPhysicsModel model = null;
+            for (ScrollPhysicsModel value : ScrollPhysicsModel.values()) {
+                if (value.name().equalsIgnoreCase(arg)) {
+                    model = value;
+                }
+            }
+            if (model != null) {
+                config = new ScrollPhysicsConfig(config.TOL, config.SPD, config.ACC, config.FRIC,
+                        config.MULT, config.FPS, model);
+            } else {
+                files.add(arg);
+            }
+        }
+
+        if (files.isEmpty()) {
+            System.err.println("Usage: ScrollReplay <trace>... [" + ScrollPhysicsModel.INERTIAL.name() + "|"
+                    + ScrollPhysicsModel.SPRING.name() + "|" + ScrollPhysicsModel.MOMENTUM.name() + "]");
+            return;
+        }
+
+        for (String file : files) {
+            final InputStream in = new FileInputStream(file);
+            try {
+                System.out.println("# " + file);
+                replay(ScrollTrace.read(in), config).write(System.out);
+            } finally {
+                in.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+
+/**
+ * Single animation clock shared by every editor in the application.
+ * Only listeners that are actually moving are registered, and the timer
+ * is stopped as soon as the last of them comes to rest. The frame rate
+ * drops when the EDT is busy, see {@link FrameGovernor}.
+ */
+final class ScrollScheduler implements ActionListener {
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    /**
+     * Something that is advanced one frame at a time by the scheduler.
+     */
+    interface Animated {
+        /**
+         * Advance the animation to the given time.
+         *
+         * @param nowNanos current value of {@link System#nanoTime()}
+         * @return true if still in motion, false to be unregistered
+         */
+        boolean tick(long nowNanos);
+    }
+
+    // Timer to handle the animation
+    private final Timer mTimer;
+
+    // The items that are currently in motion
+    private final ArrayList<Animated> mActive = new ArrayList<Animated>();
+
+    // Time of the last frame while running, 0 when stopped
+    private long mLastFrameNanos = 0L;
+
+    // Adapts the frame rate to the load on the EDT
+    private final FrameGovernor mGovernor = new FrameGovernor();
+
+    // Holds frames back until the previous one has been painted
+    private final FramePacer mPacer = new FramePacer();
+
+    ScrollScheduler() {
+        // the delay is set each time the timer is started
+        mTimer = new Timer(0, this);
+        mTimer.setCoalesce(true);
+    }
+
+    /**
+     * Get the clock, loading the settings on first use.
+     *
+     * @return the clock owned by {@link SmoothScrollerService}
+     */
+    static ScrollScheduler getInstance() {
+        return SmoothScrollerService.getInstance().getScheduler();
+    }
+
+    /**
+     * Register an item for animation, starting the timer if it was idle.
+     * Must be called on the EDT.
+     *
+     * @param animated item that has started moving
+     * @return true if the item was not already registered
+     */
+    boolean start(Animated animated) {
+        final boolean added = !mActive.contains(animated);
+        if (added) {
+            mActive.add(animated);
+        }
+        if (!mTimer.isRunning()) {
+            // pick up any change to the frame rate
+            final int frameMillis = getFrameMillis();
+            mGovernor.reset(frameMillis * NANOS_PER_MILLI,
+                    Math.round(1000.0D / ScrollPhysicsConfig.MIN_FRAMES_PER_SECOND) * NANOS_PER_MILLI);
+            mTimer.setDelay(frameMillis);
+            mTimer.setInitialDelay(frameMillis);
+            mTimer.start();
+            mLastFrameNanos = 0L;
+            mPacer.reset();
+        }
+        return added;
+    }
+
+    /**
+     * Unregister an item, stopping the timer if nothing else is moving.
+     * Must be called on the EDT.
+     *
+     * @param animated item to remove
+     */
+    void stop(Animated animated) {
+        mActive.remove(animated);
+        if (mActive.isEmpty()) {
+            mTimer.stop();
+        }
+    }
+
+    /**
+     * Stop the clock for good.
+     */
+    void dispose() {
+        mActive.clear();
+        mTimer.stop();
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        final long now = System.nanoTime();
+        final long period = mTimer.getDelay() * NANOS_PER_MILLI;
+        final long interval = (mLastFrameNanos == 0L) ? period : now - mLastFrameNanos;
+
+        if (mLastFrameNanos != 0L) {
+            ScrollStats.getInstance().recordFrame(interval, period);
+        }
+        mLastFrameNanos = now;
+
+        if (!mPacer.isPresented()) {
+            // the last frame is not on screen yet, the next step covers this time as well
+            ScrollStats.getInstance().recordHeldFrame();
+            return;
+        }
+
+        // iterate backwards so finished items can be removed in place
+        for (int i = mActive.size() - 1; i >= 0; i--) {
+            if (!mActive.get(i).tick(now)) {
+                mActive.remove(i);
+            }
+        }
+
+        mPacer.onFrame();
+        if (mActive.isEmpty()) {
+            mTimer.stop();
+            return;
+        }
+
+        // run slower while the EDT is struggling
+        final long newPeriod = mGovernor.onFrame(interval - period, System.nanoTime() - now);
+        final int delay = Math.max(1, (int) (newPeriod / NANOS_PER_MILLI));
+        if (delay != mTimer.getDelay()) {
+            mTimer.setDelay(delay);
+        }
+        if (mGovernor.isThrottled()) {
+            ScrollStats.getInstance().recordThrottledFrame();
+        }
+    }
+
+    /**
+     * Get the timer period for the configured frame rate.
+     *
+     * @return milliseconds between frames
+     */
+    private static int getFrameMillis() {
+        return Props.getConfig().getFrameMillis();
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timing measurements of the scroll animation, for tuning and for finding
+ * the cause of janky scrolling.
+ */
+final class ScrollStats implements ScrollAnimator.ScrollRecorder {
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    // A tick this much later than the frame period counts as late
+    private static final double LATE_FACTOR = 1.5D;
+
+    private static final ScrollStats sInstance = new ScrollStats();
+
+    // |actual - expected| frame interval, uSec
+    private final Histogram mFrameJitter = new Histogram();
+
+    // time taken by each call to scroll the target, uSec
+    private final Histogram mScrollTime = new Histogram();
+
+    // wheel events in each second that had any
+    private final Histogram mWheelRate = new Histogram();
+
+    // time between frames reaching the screen, uSec
+    private final Histogram mPresentInterval = new Histogram();
+    private final AtomicLong mPresentSum = new AtomicLong();
+    private final AtomicLong mPresentSumSquares = new AtomicLong();
+
+    private final AtomicLong mFrames = new AtomicLong();
+    private final AtomicLong mLateFrames = new AtomicLong();
+    private final AtomicLong mMissedFrames = new AtomicLong();
+    private final AtomicLong mThrottledFrames = new AtomicLong();
+    private final AtomicLong mHeldFrames = new AtomicLong();
+    private final AtomicLong mPresents = new AtomicLong();
+    private final AtomicLong mWheelEvents = new AtomicLong();
+
+    // flings whose landing was predicted, and how they ended
+    private final AtomicLong mLandings = new AtomicLong();
+    private final AtomicLong mLandingHits = new AtomicLong();
+    private final AtomicLong mLandingsCancelled = new AtomicLong();
+
+    // the one second window used to count wheel events
+    private final AtomicLong mWindowStartNanos = new AtomicLong();
+    private final AtomicLong mWindowEvents = new AtomicLong();
+
+    // true to show the stats while scrolling
+    private volatile boolean mShowing = false;
+
+    private ScrollStats() {
+    }
+
+    static ScrollStats getInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Record the time between two animation frames.
+     *
+     * @param intervalNanos actual time between the frames
+     * @param periodNanos   expected time between the frames
+     */
+    void recordFrame(long intervalNanos, long periodNanos) {
+        mFrames.incrementAndGet();
+        mFrameJitter.record(Math.abs(intervalNanos - periodNanos) / NANOS_PER_MICRO);
+
+        if (intervalNanos > LATE_FACTOR * periodNanos) {
+            mLateFrames.incrementAndGet();
+            mMissedFrames.addAndGet(Math.max(0L, Math.round((double) intervalNanos / periodNanos) - 1L));
+        }
+    }
+
+    /**
+     * Record a frame run at less than the target rate because the EDT was busy.
+     */
+    void recordThrottledFrame() {
+        mThrottledFrames.incrementAndGet();
+    }
+
+    /**
+     * Record a frame skipped because the previous one was not painted yet.
+     */
+    void recordHeldFrame() {
+        mHeldFrames.incrementAndGet();
+    }
+
+    /**
+     * Record the time between two frames being painted.
+     *
+     * @param intervalNanos time since the previous frame was painted
+     */
+    void recordPresent(long intervalNanos) {
+        final long micros = intervalNanos / NANOS_PER_MICRO;
+        mPresents.incrementAndGet();
+        mPresentInterval.record(micros);
+        mPresentSum.addAndGet(micros);
+        mPresentSumSquares.addAndGet(micros * micros);
+    }
+
+    /**
+     * @return standard deviation of the time between painted frames, uSec
+     */
+    long getPacingDeviation() {
+        final long count = mPresents.get();
+        if (count < 2L) {
+            return 0L;
+        }
+        final double mean = (double) mPresentSum.get() / count;
+        final double variance = (double) mPresentSumSquares.get() / count - mean * mean;
+        return Math.round(Math.sqrt(Math.max(0.0D, variance)));
+    }
+
+    /**
+     * Record how long it took to scroll the target.
+     *
+     * @param nanos duration of the call
+     */
+    @Override
+    public void recordScroll(long nanos) {
+        mScrollTime.record(nanos / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Record the arrival of a wheel event.
+     *
+     * @param nowNanos time of the event, from {@link System#nanoTime()}
+     */
+    void recordWheelEvent(long nowNanos) {
+        mWheelEvents.incrementAndGet();
+
+        final long start = mWindowStartNanos.get();
+        final long elapsed = nowNanos - start;
+        if (elapsed >= NANOS_PER_SECOND && mWindowStartNanos.compareAndSet(start, nowNanos)) {
+            // only a window that ended with events still coming is a full second of input
+            final long events = mWindowEvents.getAndSet(0L);
+            if (elapsed < 2L * NANOS_PER_SECOND && events > 0L) {
+                mWheelRate.record(events);
+            }
+        }
+        mWindowEvents.incrementAndGet();
+    }
+
+    /**
+     * Record the end of a fling whose landing was predicted.
+     *
+     * @param hit true if it came to rest in the prepared range
+     */
+    void recordLanding(boolean hit) {
+        mLandings.incrementAndGet();
+        if (hit) {
+            mLandingHits.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record a fling that was interrupted before it landed.
+     */
+    void recordLandingCancelled() {
+        mLandingsCancelled.incrementAndGet();
+    }
+
+    boolean isShowing() {
+        return mShowing;
+    }
+
+    void setShowing(boolean showing) {
+        mShowing = showing;
+    }
+
+    void reset() {
+        mFrameJitter.reset();
+        mScrollTime.reset();
+        mWheelRate.reset();
+        mFrames.set(0L);
+        mLateFrames.set(0L);
+        mMissedFrames.set(0L);
+        mThrottledFrames.set(0L);
+        mHeldFrames.set(0L);
+        mPresentInterval.reset();
+        mPresents.set(0L);
+        mPresentSum.set(0L);
+        mPresentSumSquares.set(0L);
+        mWheelEvents.set(0L);
+        mWindowEvents.set(0L);
+        mLandings.set(0L);
+        mLandingHits.set(0L);
+        mLandingsCancelled.set(0L);
+    }
+
+    /**
+     * @return short summary suitable for a status line
+     */
+    String getSummary() {
+        return String.format("Smooth Scroller: jitter p99 %d uSec, pacing sd %d uSec, scroll p99 %d uSec, " +
+                        "late %d / %d frames",
+                mFrameJitter.getPercentile(0.99D), getPacingDeviation(), mScrollTime.getPercentile(0.99D),
+                mLateFrames.get(), mFrames.get());
+    }
+
+    /**
+     * @return all the measurements, one per line
+     */
+    String dump() {
+        return "Frames: " + mFrames.get() + "\n" +
+                "Late frames: " + mLateFrames.get() + "\n" +
+                "Missed frames: " + mMissedFrames.get() + "\n" +
+                "Throttled frames: " + mThrottledFrames.get() + "\n" +
+                "Held frames: " + mHeldFrames.get() + "\n" +
+                "Frame jitter: " + mFrameJitter.format("uSec") + "\n" +
+                "Painted frame interval: " + mPresentInterval.format("uSec") + "\n" +
+                "Frame pacing deviation: " + getPacingDeviation() + " uSec\n" +
+                "Scroll call time: " + mScrollTime.format("uSec") + "\n" +
+                "Wheel events: " + mWheelEvents.get() + "\n" +
+                "Wheel events / sec: " + mWheelRate.format("events") + "\n" +
+                "Landings predicted: " + mLandings.get() + ", hit " + mLandingHits.get() +
+                ", cancelled " + mLandingsCancelled.get();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Something whose scroll offset is animated. Keeps the animation code free
+ * of any particular component so it can be driven without an editor.
+ */
+interface ScrollTarget {
+    int getVerticalScrollOffset();
+
+    void scrollVertically(int offset);
+
+    /**
+     * @return the largest vertical offset, the content height less the visible height
+     */
+    int getMaxVerticalScrollOffset();
+
+    /**
+     * @return the height of the visible area
+     */
+    int getVisibleHeight();
+
+    /**
+     * Do part of the work needed to show a vertical range, such as layout
+     * and highlighting, so it is ready by the time it is scrolled to. It is
+     * called a piece at a time so no single frame takes long.
+     *
+     * @param from first vertical offset still to prepare
+     * @param to   end of the range
+     * @return where the next call should start, to or more when finished
+     */
+    int prepareVertically(int from, int to);
+
+    int getHorizontalScrollOffset();
+
+    void scrollHorizontally(int offset);
+
+    /**
+     * @return the largest horizontal offset, the content width less the visible width
+     */
+    int getMaxHorizontalScrollOffset();
+
+    /**
+     * Scroll both directions at once, so the target repaints only once.
+     *
+     * @param horizontalOffset new horizontal offset
+     * @param verticalOffset   new vertical offset
+     */
+    void scroll(int horizontalOffset, int verticalOffset);
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import java.awt.event.InputEvent;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A recorded sequence of wheel events. The binary form is a header followed
+ * by one fixed size record per event.
+ */
+final class ScrollTrace {
+    private static final int MAGIC = 0x53535452; // "SSTR"
+    private static final int VERSION = 1;
+
+    /**
+     * A single wheel event
+     */
+    static final class Event {
+        // time since the first event of the trace, in nanoseconds
+        final long TIME;
+        final double ROTATION;
+        final int AMOUNT;
+        final int MODIFIERS;
+
+        Event(long time, double rotation, int amount, int modifiers) {
+            TIME = time;
+            ROTATION = rotation;
+            AMOUNT = amount;
+            MODIFIERS = modifiers;
+        }
+
+        /**
+         * @return the wheel input as seen by the animation
+         */
+        double getInput() {
+            return AMOUNT * ROTATION;
+        }
+
+        boolean isHorizontal() {
+            return (MODIFIERS & InputEvent.SHIFT_DOWN_MASK) != 0;
+        }
+    }
+
+    private final List<Event> mEvents;
+
+    ScrollTrace(List<Event> events) {
+        mEvents = Collections.unmodifiableList(events);
+    }
+
+    List<Event> getEvents() {
+        return mEvents;
+    }
+
+    /**
+     * Read a trace.
+     *
+     * @param in stream positioned at the header
+     * @return the trace
+     * @throws IOException if the stream is not a trace we understand
+     */
+    static ScrollTrace read(InputStream in) throws IOException {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a scroll trace");
+        }
+        final int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported scroll trace version: " + version);
+        }
+
+        final ArrayList<Event> events = new ArrayList<Event>();
+        while (true) {
+            final long time;
+            try {
+                time = data.readLong();
+            } catch (EOFException e) {
+                break;
+            }
+            events.add(new Event(time, data.readDouble(), data.readInt(), data.readInt()));
+        }
+        return new ScrollTrace(events);
+    }
+
+    /**
+     * Write the whole trace.
+     *
+     * @param out destination
+     * @throws IOException on write failure
+     */
+    void write(OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        writeHeader(data);
+        for (Event event : mEvents) {
+            writeEvent(data, event.TIME, event.ROTATION, event.AMOUNT, event.MODIFIERS);
+        }
+        data.flush();
+    }
+
+    static void writeHeader(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    static void writeEvent(DataOutput out, long time, double rotation, int amount, int modifiers)
+            throws IOException {
+        out.writeLong(time);
+        out.writeDouble(rotation);
+        out.writeInt(amount);
+        out.writeInt(modifiers);
+    }
+}
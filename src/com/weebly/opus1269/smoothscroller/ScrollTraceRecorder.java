@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.awt.event.MouseWheelEvent;
+import java.io.*;
+
+/**
+ * Records the wheel events seen by the listeners to a {@link ScrollTrace} file
+ * in the IDE log directory. Only used from the EDT.
+ */
+final class ScrollTraceRecorder {
+    private static final Logger sLogger = Logger.getInstance(ScrollTraceRecorder.class);
+
+    private static volatile boolean sRecording = false;
+    private static DataOutputStream sOut = null;
+    private static File sFile = null;
+
+    // time of the first event, all times are relative to it
+    private static long sStartNanos = 0L;
+    private static boolean sStarted = false;
+
+    private ScrollTraceRecorder() {
+    }
+
+    static boolean isRecording() {
+        return sRecording;
+    }
+
+    /**
+     * Start recording to a new file.
+     *
+     * @return the file being written
+     * @throws IOException if the file can't be created
+     */
+    static File start() throws IOException {
+        stop();
+
+        final File file = new File(PathManager.getLogPath(),
+                "smooth-scroller-" + System.currentTimeMillis() + ".trace");
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        ScrollTrace.writeHeader(out);
+
+        sOut = out;
+        sFile = file;
+        sStarted = false;
+        sRecording = true;
+        return file;
+    }
+
+    /**
+     * Stop recording.
+     *
+     * @return the file that was written, null if not recording
+     */
+    static File stop() {
+        final File file = sFile;
+        sRecording = false;
+        if (sOut != null) {
+            try {
+                sOut.close();
+            } catch (IOException e) {
+                sLogger.warn("Failed to close scroll trace", e);
+            }
+        }
+        sOut = null;
+        sFile = null;
+        return file;
+    }
+
+    /**
+     * Add an event to the trace.
+     *
+     * @param e        the wheel event
+     * @param nowNanos time it was received, from {@link System#nanoTime()}
+     */
+    static void record(MouseWheelEvent e, long nowNanos) {
+        if (sOut == null) {
+            return;
+        }
+
+        if (!sStarted) {
+            sStarted = true;
+            sStartNanos = nowNanos;
+        }
+
+        try {
+            ScrollTrace.writeEvent(sOut, nowNanos - sStartNanos, e.getPreciseWheelRotation(),
+                    e.getScrollAmount(), e.getModifiersEx());
+        } catch (IOException ex) {
+            sLogger.warn("Failed to write scroll trace", ex);
+            stop();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Moves a given distance with a cubic ease-out over a fixed time. Used to
+ * animate jumps made by keyboard navigation, so it always finishes on time
+ * however far the jump is.
+ */
+public class SeekScrollPhysics implements ScrollPhysics {
+    // Distance to cover and how much of it has been covered
+    private double mDistance = 0.0D;
+    private double mTravelled = 0.0D;
+
+    // Time allowed for the move and time used so far
+    private long mDurationNanos = 0L;
+    private long mElapsedNanos = 0L;
+
+    /**
+     * Start a new move from the current position.
+     *
+     * @param distance      distance to move
+     * @param durationNanos time to take
+     */
+    public void seek(double distance, long durationNanos) {
+        mDistance = distance;
+        mTravelled = 0.0D;
+        mDurationNanos = Math.max(1L, durationNanos);
+        mElapsedNanos = 0L;
+    }
+
+    @Override
+    public void onImpulse(double delta, long timeNanos, ScrollPhysicsConfig config) {
+        // never given wheel input, the axis switches to a wheel engine first
+    }
+
+    @Override
+    public void onRelease() {
+    }
+
+    @Override
+    public double step(long dtNanos, ScrollPhysicsConfig config) {
+        if (isAtRest()) {
+            return 0.0D;
+        }
+
+        mElapsedNanos = Math.min(mDurationNanos, mElapsedNanos + dtNanos);
+        final double remaining = 1.0D - (double) mElapsedNanos / mDurationNanos;
+        final double position = mDistance * (1.0D - remaining * remaining * remaining);
+        final double distance = position - mTravelled;
+        mTravelled = position;
+
+        if (mElapsedNanos == mDurationNanos) {
+            reset();
+        }
+        return distance;
+    }
+
+    @Override
+    public double getRestDistance(ScrollPhysicsConfig config) {
+        return mDistance - mTravelled;
+    }
+
+    @Override
+    public boolean isAtRest() {
+        return mDurationNanos == 0L;
+    }
+
+    @Override
+    public void reset() {
+        mDistance = 0.0D;
+        mTravelled = 0.0D;
+        mDurationNanos = 0L;
+        mElapsedNanos = 0L;
+    }
+}
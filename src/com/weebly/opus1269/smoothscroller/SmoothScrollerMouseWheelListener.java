@@ -24,175 +24,192 @@
 
 package com.weebly.opus1269.smoothscroller;
 
-import com.intellij.openapi.editor.ScrollingModel;
-import com.intellij.openapi.fileEditor.FileEditor;
-import com.intellij.openapi.fileEditor.TextEditor;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.event.VisibleAreaEvent;
+import com.intellij.openapi.editor.event.VisibleAreaListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.StatusBar;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.Rectangle;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
-import java.util.ArrayList;
 
-class SmoothScrollerMouseWheelListener implements MouseWheelListener, ActionListener {
-    // The frame rate of the animation
-    // TODO: Investigate if we can get an AnimationFrame
-    private static final int FRAMES_PER_SECOND = 20;
-    private static final int MILLIS_PER_FRAME = 1000 / FRAMES_PER_SECOND;
+class SmoothScrollerMouseWheelListener implements MouseWheelListener, VisibleAreaListener,
+        ScrollScheduler.Animated {
+    // How often the stats are shown while scrolling
+    private static final long STATS_NANOS = 500L * 1000000L;
 
-    // Scrolling model of the window
-    private final ScrollingModel mScrollingModel;
+    // Time taken to animate a jump, short enough not to slow down navigation
+    private static final long SEEK_NANOS = 150L * 1000000L;
 
-    // Timer to handle the animation
-    private Timer mTimer = null;
+    // What we are scrolling
+    private final ScrollTarget mTarget;
 
-    // The last input from the mouse wheel event
-    private double mLastWheelDelta = 0.0D;
+    // The animation of the target, created on the first scroll
+    private ScrollAnimator mAnimator = null;
 
-    // true when mouse wheel events are being processed
-    private boolean mScrolling = false;
+    // Works out which kind of device is scrolling
+    private final InputClassifier mClassifier = new InputClassifier();
+    private InputClass mInputClass = InputClass.WHEEL;
 
-    // The current velocity of the window, usually in rows / mSec
-    private double mVelocity = 0.0D;
+    // Gets the area a fling will land in ready ahead of time
+    private final LandingPrefetch mPrefetch;
 
-    // A history of the last several scroll velocities
-    private final ArrayList<Double> mVelocities = new ArrayList<Double>();
-    private static final int MAX_VELOCITIES = 10;
+    // The editor being scrolled, null if not scrolling an editor
+    private final EditorScrollTarget mEditorTarget;
+
+    // The settings to use, resolved once for the editor
+    private final ScrollProfile mProfile;
+
+    // Project for the status bar, may be null
+    private final Project mProject;
+
+    // Time the stats were last shown, from System.nanoTime()
+    private long mLastStatsNanos = 0L;
 
     /**
      * Constructor for our MouseWheelListener.
      *
-     * @param editor The file editor to which smooth scrolling is to be added.
+     * @param editor  The editor to which smooth scrolling is to be added.
+     * @param profile The settings to use for the editor.
      */
-    public SmoothScrollerMouseWheelListener(FileEditor editor) {
-        mScrollingModel = ((TextEditor) editor).getEditor().getScrollingModel();
-        // we will do the animation
-        mScrollingModel.disableAnimation();
+    public SmoothScrollerMouseWheelListener(Editor editor, ScrollProfile profile) {
+        this(new EditorScrollTarget(editor), profile, editor.getProject());
+    }
 
-        mTimer = new Timer(MILLIS_PER_FRAME, this);
+    /**
+     * Constructor for any {@link ScrollTarget}, allows driving the animation without an editor.
+     *
+     * @param target  What is to be scrolled.
+     * @param profile The settings to use.
+     * @param project Project whose status bar shows the stats, may be null.
+     */
+    SmoothScrollerMouseWheelListener(ScrollTarget target, ScrollProfile profile, Project project) {
+        mTarget = target;
+        mPrefetch = new LandingPrefetch(target);
+        mEditorTarget = (target instanceof EditorScrollTarget) ? (EditorScrollTarget) target : null;
+        mProfile = profile;
+        mProject = project;
     }
 
     @Override
     public void mouseWheelMoved(MouseWheelEvent e) {
-        final double spdTol = Props.get(Props.TOL).VAL;
-        final double spdLmt = Props.get(Props.SPD).VAL;
-        final double accLmt = Props.get(Props.ACC).VAL;
-        final double scrMut = Props.get(Props.MULT).VAL;
-
-        // don't want to apply any easing to velocity while scrolling
-        mScrolling = true;
-        mScrollingModel.runActionOnScrollingFinished(new Runnable() {
-            @Override
-            public void run() {
-                mScrolling = false;
-                mVelocities.clear();
-            }
-        });
+        final long now = System.nanoTime();
 
-        // track wheel motion delta
-        // TODO: Could use a debounce probably
-        final double wheelDelta = e.getPreciseWheelRotation();
-        final boolean sameDirection = mLastWheelDelta * wheelDelta > 0.0D;
-        mLastWheelDelta = wheelDelta;
-
-        if (!sameDirection) {
-            // changed direction
-            zeroVelocity();
-            return;
+        ScrollStats.getInstance().recordWheelEvent(now);
+        if (ScrollTraceRecorder.isRecording()) {
+            ScrollTraceRecorder.record(e, now);
         }
 
-        // calculate new velocity increment
-        final double scrollDelta = e.getScrollAmount() * wheelDelta * scrMut;
-        final double deltaV = scrollDelta / MILLIS_PER_FRAME;
+        final ScrollScheduler scheduler = ScrollScheduler.getInstance();
+        final ScrollAnimator animator = getAnimator();
 
-        if (Math.abs(deltaV) < spdTol) {
-            // skip small movements
-            return;
-        }
+        // new input changes where we will land
+        mPrefetch.cancel();
+
+        // wheels get inertia, touchpads are followed, OS momentum is passed through
+        final double rotation = e.getPreciseWheelRotation();
+        mInputClass = mClassifier.classify(rotation, e.getScrollType(), now);
 
-        final double oldVelocity = mVelocity;
-        final double newVelocity = mVelocity + deltaV;
+        // shift + wheel, and sideways touchpad swipes, scroll horizontally
+        animator.addInput(e.getScrollAmount() * rotation, e.isShiftDown(), mInputClass, now);
 
-        // calculate average velocity over last several mouse wheel events
-        if (mVelocities.size() == MAX_VELOCITIES) {
-            mVelocities.remove(0);
+        // make sure we are receiving frames
+        if (scheduler.start(this)) {
+            animator.start(now);
         }
-        mVelocities.add(newVelocity);
+    }
 
-        mVelocity = getAverage(mVelocities);
+    @Override
+    public void visibleAreaChanged(VisibleAreaEvent e) {
+        if (mEditorTarget == null || mEditorTarget.isScrolling()) {
+            return;
+        }
 
-        // limit acceleration
-        final double acc = (mVelocity - oldVelocity) / MILLIS_PER_FRAME;
-        if (Math.abs(acc) > accLmt) {
-            mVelocity = oldVelocity + accLmt * MILLIS_PER_FRAME * Math.signum(acc);
+        final Rectangle oldArea = e.getOldRectangle();
+        final Rectangle newArea = e.getNewRectangle();
+        if (oldArea == null || newArea == null || oldArea.width != newArea.width
+                || oldArea.height != newArea.height || oldArea.getLocation().equals(newArea.getLocation())) {
+            // resized or not moved
+            return;
         }
 
-        // limit speed
-        if (Math.abs(mVelocity) > spdLmt) {
-            mVelocity = spdLmt * Math.signum(mVelocity);
+        // only jumps made by navigation, anything else that scrolls the
+        // editor (typing, drag selection, popups) expects it to be there at once
+        if (!Props.isAnimateNavigation() || !NavigationActionListener.isNavigating()) {
+            return;
         }
-        if (Math.abs(mVelocity) < spdTol) {
-            zeroVelocity();
+
+        final ScrollScheduler scheduler = ScrollScheduler.getInstance();
+
+        final long now = System.nanoTime();
+        final ScrollAnimator animator = getAnimator();
+        mPrefetch.cancel();
+        animator.seek(oldArea.x, oldArea.y, newArea.x, newArea.y, SEEK_NANOS);
+
+        // make sure we are receiving frames
+        if (scheduler.start(this)) {
+            animator.start(now);
         }
     }
 
     @Override
-    public void actionPerformed(ActionEvent e) {
-        update();
-    }
+    public boolean tick(long nowNanos) {
+        final ScrollPhysicsConfig config = getConfig();
+        final boolean moving = mAnimator.tick(nowNanos, config);
+        mPrefetch.onFrame(mAnimator, config, moving);
 
-    /**
-     * Starts animating the scroll offset.
-     */
-    public void startAnimating() {
-        mTimer.start();
+        if (ScrollStats.getInstance().isShowing()) {
+            showStats(nowNanos);
+        }
+
+        return moving;
     }
 
     /**
      * Stops animating the scroll offset.
      */
     public void stopAnimating() {
-        mTimer.stop();
+        if (mAnimator != null) {
+            mPrefetch.cancel();
+            mAnimator.stop();
+            ScrollScheduler.getInstance().stop(this);
+        }
     }
 
     /**
-     * Updates the velocity acting on the scroll offset and then updates
-     * the scroll offset.
+     * Get the settings for the editor and the device scrolling it.
+     *
+     * @return the settings to animate with
      */
-    private void update() {
-        final double spdTol = Props.get(Props.TOL).VAL;
-        final double lambda = Props.get(Props.FRIC).VAL;
-
-         if (!mScrolling) {
-            // Basic kinetic scrolling, exponential decay vel_new = vel * e^-lambda*deltaT
-            mVelocity = mVelocity * Math.exp(-lambda * MILLIS_PER_FRAME);
-        }
-
-        if (Math.abs(mVelocity) >= spdTol) {
-            // reposition cursor offset based on current velocity
-            final int currentOffset = mScrollingModel.getVerticalScrollOffset();
-            final long offset = Math.round((currentOffset + mVelocity * MILLIS_PER_FRAME));
-            mScrollingModel.scrollVertically(Math.max(0, (int) offset));
-        } else {
-            // bring to stop below threshold
-            zeroVelocity();
+    private ScrollPhysicsConfig getConfig() {
+        if (mProfile == ScrollProfile.DEFAULT) {
+            // a calibration takes the place of the default profile for its device
+            final ScrollPhysicsConfig calibrated = Props.getCalibratedConfig(mInputClass);
+            if (calibrated != null) {
+                return calibrated;
+            }
         }
+        return mProfile.getConfig();
     }
 
-    private void zeroVelocity() {
-        mVelocity = 0.0D;
-        mVelocities.clear();
+    /**
+     * Get the animation, creating it on first use. The settings must
+     * already be loaded, getting the {@link ScrollScheduler} does that.
+     *
+     * @return the animation of the target
+     */
+    private ScrollAnimator getAnimator() {
+        if (mAnimator == null) {
+            mAnimator = new ScrollAnimator(mTarget, mProfile.getConfig().MODEL, ScrollStats.getInstance());
+        }
+        return mAnimator;
     }
 
-    private double getAverage(ArrayList<Double> array) {
-        double sum = 0.0D;
-        if (!array.isEmpty()) {
-            for (Double item : array) {
-                sum = sum + item;
-            }
-            return sum / array.size();
+    private void showStats(long nowNanos) {
+        if (mProject != null && (nowNanos - mLastStatsNanos) >= STATS_NANOS) {
+            mLastStatsNanos = nowNanos;
+            StatusBar.Info.set(ScrollStats.getInstance().getSummary(), mProject);
         }
-        return sum;
     }
 }
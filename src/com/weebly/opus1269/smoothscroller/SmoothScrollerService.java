@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.ide.util.PropertiesComponent;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Application service holding the settings and the animation clock. It is
+ * created the first time an editor scrolls, so it costs nothing at startup
+ * and is shared by every open project.
+ */
+@State(name = "SmoothScroller", storages = @Storage("smoothScroller.xml"))
+public class SmoothScrollerService implements PersistentStateComponent<SmoothScrollerService.State>, Disposable {
+
+    /**
+     * The stored settings, by property name.
+     */
+    public static class State {
+        public Map<String, String> values = new TreeMap<String, String>();
+    }
+
+    private State mState = new State();
+
+    // Single animation clock shared by all editors
+    private final ScrollScheduler mScheduler = new ScrollScheduler();
+
+    public SmoothScrollerService() {
+        Props.initialize(this);
+    }
+
+    public static SmoothScrollerService getInstance() {
+        return ServiceManager.getService(SmoothScrollerService.class);
+    }
+
+    ScrollScheduler getScheduler() {
+        return mScheduler;
+    }
+
+    @Override
+    public State getState() {
+        return mState;
+    }
+
+    @Override
+    public void loadState(State state) {
+        mState = state;
+        Props.initialize(this);
+    }
+
+    @Override
+    public void dispose() {
+        mScheduler.dispose();
+
+        // the IDE is closing, finish the trace so its buffered events are not lost
+        ScrollTraceRecorder.stop();
+    }
+
+    String getValue(String name, String def) {
+        final String value = mState.values.get(name);
+        if (value != null) {
+            return value;
+        }
+
+        // not stored here yet, use the value saved by older versions
+        return PropertiesComponent.getInstance().getValue(name, def);
+    }
+
+    float getFloat(String name, float def) {
+        try {
+            return Float.parseFloat(getValue(name, String.valueOf(def)));
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    boolean getBoolean(String name, boolean def) {
+        return Boolean.parseBoolean(getValue(name, String.valueOf(def)));
+    }
+
+    void setValue(String name, String value) {
+        mState.values.put(name, value);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Wheel input moves a target offset and the scroll offset follows it on a
+ * critically damped spring. It settles quickly and overshoots at most once,
+ * and never moves faster than the speed limit.
+ */
+public class SpringScrollPhysics implements ScrollPhysics {
+    // Spring frequency relative to the friction setting
+    private static final double STIFFNESS = 4.0D;
+
+    // Distance from the target that counts as arrived, in pixels
+    private static final double REST_DISTANCE = 0.5D;
+
+    // Friction used when the setting is lower, with none the spring would never move
+    private static final double MIN_FRICTION = 0.0005D;
+
+    // Offset relative to the target, the spring pulls this to zero
+    private double mDisplacement = 0.0D;
+
+    // The current velocity
+    private double mVelocity = 0.0D;
+
+    @Override
+    public void onImpulse(double delta, long timeNanos, ScrollPhysicsConfig config) {
+        // move the target as far as the inertial model would coast
+        // from the same impulse, so the models cover similar distances
+        mDisplacement -= delta / (MILLIS_PER_IMPULSE * getFriction(config));
+    }
+
+    @Override
+    public void onRelease() {
+    }
+
+    @Override
+    public double step(long dtNanos, ScrollPhysicsConfig config) {
+        final double omega = STIFFNESS * getFriction(config);
+        final double deltaT = dtNanos / 1000000.0D;
+
+        if (isAtRest()) {
+            return 0.0D;
+        }
+        if (config.SPD <= 0.0D) {
+            // not allowed to move at all
+            reset();
+            return 0.0D;
+        }
+
+        // exact solution of x'' = -omega^2 * x - 2 * omega * x'
+        final double d0 = mDisplacement;
+        final double c = mVelocity + omega * d0;
+        final double decay = Math.exp(-omega * deltaT);
+        mDisplacement = (d0 + c * deltaT) * decay;
+        mVelocity = (mVelocity - omega * c * deltaT) * decay;
+
+        // limit speed, the spring is held back and catches up once it slows down
+        final double maxDistance = config.SPD * deltaT;
+        if (Math.abs(mDisplacement - d0) > maxDistance) {
+            final double direction = Math.signum(mDisplacement - d0);
+            mDisplacement = d0 + maxDistance * direction;
+            mVelocity = config.SPD * direction;
+        }
+
+        if (Math.abs(mDisplacement) < REST_DISTANCE && Math.abs(mVelocity) < config.TOL) {
+            // close enough, land on the target
+            final double distance = -d0;
+            reset();
+            return distance;
+        }
+
+        return mDisplacement - d0;
+    }
+
+    @Override
+    public double getRestDistance(ScrollPhysicsConfig config) {
+        // the spring always settles on the target
+        return -mDisplacement;
+    }
+
+    @Override
+    public boolean isAtRest() {
+        return mDisplacement == 0.0D && mVelocity == 0.0D;
+    }
+
+    @Override
+    public void reset() {
+        mDisplacement = 0.0D;
+        mVelocity = 0.0D;
+    }
+
+    private static double getFriction(ScrollPhysicsConfig config) {
+        return Math.max(MIN_FRICTION, config.FRIC);
+    }
+}
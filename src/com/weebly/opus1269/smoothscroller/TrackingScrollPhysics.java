@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Follows the input one to one, with no inertia of its own. Used for
+ * touchpads, whose OS already adds momentum. The input can be smoothed over
+ * a few milliseconds so uneven event timing doesn't show as judder.
+ */
+public class TrackingScrollPhysics implements ScrollPhysics {
+    // Time constant of the smoothing, in nSec
+    private static final double SMOOTHING_NANOS = 24.0D * 1000000.0D;
+
+    // Less than this is applied at once rather than smoothed, in pixels
+    private static final double MIN_DISTANCE = 0.05D;
+
+    // Input distance not yet applied
+    private double mPending = 0.0D;
+
+    // true to spread the input over time, false to pass it straight through
+    private boolean mSmoothing = true;
+
+    /**
+     * Choose between smoothing and passing the input straight through.
+     *
+     * @param smoothing true to smooth the input
+     */
+    public void setSmoothing(boolean smoothing) {
+        mSmoothing = smoothing;
+    }
+
+    @Override
+    public void onImpulse(double delta, long timeNanos, ScrollPhysicsConfig config) {
+        mPending += delta;
+    }
+
+    @Override
+    public void onRelease() {
+    }
+
+    @Override
+    public double step(long dtNanos, ScrollPhysicsConfig config) {
+        double distance = mPending;
+        if (mSmoothing && Math.abs(mPending) > MIN_DISTANCE) {
+            // exponential approach, the same fraction per unit time at any frame rate
+            distance = mPending * (1.0D - Math.exp(-dtNanos / SMOOTHING_NANOS));
+        }
+        mPending -= distance;
+        return distance;
+    }
+
+    @Override
+    public double getRestDistance(ScrollPhysicsConfig config) {
+        return mPending;
+    }
+
+    @Override
+    public boolean isAtRest() {
+        return mPending == 0.0D;
+    }
+
+    @Override
+    public void reset() {
+        mPending = 0.0D;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Estimates the velocity of the input by fitting a line to its position
+ * over a sliding time window. The samples live in a fixed size buffer and
+ * the least squares sums are kept up to date as samples come and go, so
+ * each sample costs O(1) and nothing is allocated.
+ */
+final class VelocityTracker {
+    private static final double NANOS_PER_MILLI = 1000000.0D;
+
+    // Oldest sample that is still used, in mSec
+    private final double mHorizonMillis;
+
+    // Time assumed for a movement with no recent sample before it, in mSec
+    private final double mFirstSpanMillis;
+
+    // Ring buffer of sample times (mSec since mBaseNanos) and positions
+    private final double[] mTimes;
+    private final double[] mPositions;
+    private int mFirst = 0;
+    private int mCount = 0;
+
+    // Time origin for the samples, from System.nanoTime()
+    private long mBaseNanos = 0L;
+
+    // Sum of all the movement
+    private double mPosition = 0.0D;
+
+    // Least squares sums over the samples in the buffer
+    private double mSumT = 0.0D;
+    private double mSumX = 0.0D;
+    private double mSumTT = 0.0D;
+    private double mSumTX = 0.0D;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity        most samples used for the fit
+     * @param horizonMillis   age after which samples are dropped
+     * @param firstSpanMillis time over which a movement with nothing before it is spread
+     */
+    VelocityTracker(int capacity, double horizonMillis, double firstSpanMillis) {
+        mTimes = new double[capacity];
+        mPositions = new double[capacity];
+        mHorizonMillis = horizonMillis;
+        mFirstSpanMillis = firstSpanMillis;
+    }
+
+    /**
+     * Add a movement.
+     *
+     * @param timeNanos time of the movement, from {@link System#nanoTime()}
+     * @param delta     distance moved
+     */
+    void addMovement(long timeNanos, double delta) {
+        if (mCount == 0) {
+            mBaseNanos = timeNanos;
+        }
+
+        final double time = (timeNanos - mBaseNanos) / NANOS_PER_MILLI;
+        mPosition += delta;
+
+        // drop the samples that are too old, or that there is no room for
+        while (mCount > 0 && (mCount == mTimes.length || (time - mTimes[mFirst]) > mHorizonMillis)) {
+            removeFirst();
+        }
+
+        if (mCount == 0) {
+            // no history, assume the movement started a little while ago
+            addLast(time - mFirstSpanMillis, mPosition - delta);
+        }
+        addLast(time, mPosition);
+    }
+
+    /**
+     * Get the slope of the line through the samples.
+     *
+     * @return velocity in distance / mSec, 0 if unknown
+     */
+    double getVelocity() {
+        if (mCount < 2) {
+            return 0.0D;
+        }
+
+        final double denominator = mCount * mSumTT - mSumT * mSumT;
+        if (denominator <= 0.0D) {
+            return 0.0D;
+        }
+        return (mCount * mSumTX - mSumT * mSumX) / denominator;
+    }
+
+    void clear() {
+        mFirst = 0;
+        mCount = 0;
+        mPosition = 0.0D;
+        mSumT = 0.0D;
+        mSumX = 0.0D;
+        mSumTT = 0.0D;
+        mSumTX = 0.0D;
+    }
+
+    private void addLast(double time, double position) {
+        final int index = (mFirst + mCount) % mTimes.length;
+        mTimes[index] = time;
+        mPositions[index] = position;
+        mCount++;
+
+        mSumT += time;
+        mSumX += position;
+        mSumTT += time * time;
+        mSumTX += time * position;
+    }
+
+    private void removeFirst() {
+        final double time = mTimes[mFirst];
+        final double position = mPositions[mFirst];
+        mFirst = (mFirst + 1) % mTimes.length;
+        mCount--;
+
+        mSumT -= time;
+        mSumX -= position;
+        mSumTT -= time * time;
+        mSumTX -= time * position;
+
+        if (mFirst == 0) {
+            // resum once per lap so rounding errors can't build up
+            resum();
+        }
+    }
+
+    private void resum() {
+        mSumT = 0.0D;
+        mSumX = 0.0D;
+        mSumTT = 0.0D;
+        mSumTX = 0.0D;
+        for (int i = 0; i < mCount; i++) {
+            final int index = (mFirst + i) % mTimes.length;
+            final double time = mTimes[index];
+            final double position = mPositions[index];
+            mSumT += time;
+            mSumX += position;
+            mSumTT += time * time;
+            mSumTX += time * position;
+        }
+    }
+}
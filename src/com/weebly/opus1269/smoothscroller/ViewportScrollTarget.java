@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import javax.swing.*;
+import java.awt.Point;
+
+/**
+ * Scrolls the view of any {@link JViewport}, such as a tree, list or table.
+ * The viewport is put in blit mode, so each frame copies what is already
+ * drawn and only paints the strip that comes into view.
+ */
+class ViewportScrollTarget implements ScrollTarget {
+    private final JViewport mViewport;
+
+    // Scroll mode to put back when we are removed
+    private final int mOldScrollMode;
+
+    ViewportScrollTarget(JViewport viewport) {
+        mViewport = viewport;
+        mOldScrollMode = viewport.getScrollMode();
+        mViewport.setScrollMode(JViewport.BLIT_SCROLL_MODE);
+    }
+
+    @Override
+    public int getVerticalScrollOffset() {
+        return mViewport.getViewPosition().y;
+    }
+
+    @Override
+    public void scrollVertically(int offset) {
+        final Point position = mViewport.getViewPosition();
+        position.y = offset;
+        mViewport.setViewPosition(position);
+    }
+
+    @Override
+    public int getMaxVerticalScrollOffset() {
+        return mViewport.getViewSize().height - mViewport.getExtentSize().height;
+    }
+
+    @Override
+    public int getVisibleHeight() {
+        return mViewport.getExtentSize().height;
+    }
+
+    @Override
+    public int prepareVertically(int from, int to) {
+        // the view paints what it needs as it comes into view
+        return to;
+    }
+
+    @Override
+    public int getHorizontalScrollOffset() {
+        return mViewport.getViewPosition().x;
+    }
+
+    @Override
+    public void scrollHorizontally(int offset) {
+        final Point position = mViewport.getViewPosition();
+        position.x = offset;
+        mViewport.setViewPosition(position);
+    }
+
+    @Override
+    public int getMaxHorizontalScrollOffset() {
+        return mViewport.getViewSize().width - mViewport.getExtentSize().width;
+    }
+
+    @Override
+    public void scroll(int horizontalOffset, int verticalOffset) {
+        mViewport.setViewPosition(new Point(horizontalOffset, verticalOffset));
+    }
+
+    /**
+     * Put the viewport back the way we found it.
+     */
+    void restore() {
+        mViewport.setScrollMode(mOldScrollMode);
+    }
+}
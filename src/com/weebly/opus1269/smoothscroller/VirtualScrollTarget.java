@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+/**
+ * Target that just remembers its offsets, for driving the animation without
+ * an editor in replays, tests and benchmarks.
+ */
+final class VirtualScrollTarget implements ScrollTarget {
+    // Offset both directions start from, far enough from 0 that scrolling back is not clamped
+    static final int START_OFFSET = 1000000;
+
+    // Height of the pretend visible area, about a screen of text
+    private static final int VISIBLE_HEIGHT = 1000;
+
+    private int mVertical = START_OFFSET;
+    private int mHorizontal = START_OFFSET;
+    private long mDistance = 0L;
+
+    /**
+     * @return total distance scrolled on both axes
+     */
+    long getDistance() {
+        return mDistance;
+    }
+
+    @Override
+    public int getVerticalScrollOffset() {
+        return mVertical;
+    }
+
+    @Override
+    public void scrollVertically(int offset) {
+        mDistance += Math.abs(offset - mVertical);
+        mVertical = offset;
+    }
+
+    @Override
+    public int getMaxVerticalScrollOffset() {
+        return 2 * START_OFFSET;
+    }
+
+    @Override
+    public int getVisibleHeight() {
+        return VISIBLE_HEIGHT;
+    }
+
+    @Override
+    public int prepareVertically(int from, int to) {
+        return to;
+    }
+
+    @Override
+    public int getHorizontalScrollOffset() {
+        return mHorizontal;
+    }
+
+    @Override
+    public void scrollHorizontally(int offset) {
+        mDistance += Math.abs(offset - mHorizontal);
+        mHorizontal = offset;
+    }
+
+    @Override
+    public int getMaxHorizontalScrollOffset() {
+        return 2 * START_OFFSET;
+    }
+
+    @Override
+    public void scroll(int horizontalOffset, int verticalOffset) {
+        scrollHorizontally(horizontalOffset);
+        scrollVertically(verticalOffset);
+    }
+}
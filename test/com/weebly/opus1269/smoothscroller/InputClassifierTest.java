@@ -0,0 +1,208 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import org.junit.Test;
+
+import java.awt.event.MouseWheelEvent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Feeds wheel, touchpad and momentum traces through the classifier. The
+ * traces are written and read back first, so they classify exactly as a
+ * recorded session would.
+ */
+public class InputClassifierTest {
+    private static final long MILLI = 1000000L;
+    private static final File REPLAY_DIR = new File("testData/replay");
+
+    @Test
+    public void notchesAreWheel() throws IOException {
+        final TraceBuilder trace = new TraceBuilder();
+        trace.add(1.0D, 1, 0L);
+        trace.add(1.0D, 10, 30L * MILLI);
+        trace.pause(1000L * MILLI);
+        trace.add(-2.0D, 5, 8L * MILLI);
+
+        for (InputClass inputClass : classify(trace.build())) {
+            assertEquals(InputClass.WHEEL, inputClass);
+        }
+    }
+
+    @Test
+    public void fractionalRotationsAreTouchpad() throws IOException {
+        final TraceBuilder trace = new TraceBuilder();
+        trace.add(0.2D, 20, 8L * MILLI);
+        // the odd whole rotation does not make it a wheel
+        trace.add(1.0D, 1, 8L * MILLI);
+        trace.add(0.3D, 20, 8L * MILLI);
+
+        for (InputClass inputClass : classify(trace.build())) {
+            assertEquals(InputClass.TOUCHPAD, inputClass);
+        }
+    }
+
+    @Test
+    public void decayAfterFingersLiftIsMomentum() throws IOException {
+        final TraceBuilder trace = new TraceBuilder();
+        trace.add(0.3D, 10, 8L * MILLI);
+        double magnitude = 0.3D;
+        for (int i = 0; i < 10; i++) {
+            magnitude *= 0.85D;
+            trace.add(magnitude, 1, 16L * MILLI);
+        }
+        // the OS repeats its smallest value at the end
+        trace.add(magnitude, 3, 16L * MILLI);
+
+        final List<InputClass> classes = classify(trace.build());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("finger event " + i, InputClass.TOUCHPAD, classes.get(i));
+        }
+        // it takes a few shrinking events to be sure
+        assertEquals(InputClass.TOUCHPAD, classes.get(10));
+        assertEquals(InputClass.TOUCHPAD, classes.get(11));
+        for (int i = 12; i < classes.size(); i++) {
+            assertEquals("momentum event " + i, InputClass.MOMENTUM, classes.get(i));
+        }
+    }
+
+    @Test
+    public void fingersBackOnThePadEndMomentum() throws IOException {
+        final TraceBuilder trace = new TraceBuilder();
+        trace.add(0.3D, 5, 8L * MILLI);
+        trace.add(0.25D, 1, 16L * MILLI);
+        trace.add(0.2D, 1, 16L * MILLI);
+        trace.add(0.15D, 1, 16L * MILLI);
+        trace.add(0.3D, 1, 8L * MILLI);
+        trace.pause(500L * MILLI);
+        trace.add(0.12D, 1, 0L);
+        trace.add(0.1D, 1, 16L * MILLI);
+        trace.add(-0.08D, 1, 16L * MILLI);
+
+        final List<InputClass> classes = classify(trace.build());
+        assertEquals(InputClass.MOMENTUM, classes.get(7));
+        // growing again
+        assertEquals(InputClass.TOUCHPAD, classes.get(8));
+        // a new gesture
+        assertEquals(InputClass.TOUCHPAD, classes.get(9));
+        assertEquals(InputClass.TOUCHPAD, classes.get(10));
+        // a change of direction
+        assertEquals(InputClass.TOUCHPAD, classes.get(11));
+    }
+
+    @Test
+    public void wheelAfterTouchpadIsWheel() throws IOException {
+        final TraceBuilder trace = new TraceBuilder();
+        trace.add(0.25D, 10, 8L * MILLI);
+        trace.pause(1000L * MILLI);
+        trace.add(1.0D, 10, 50L * MILLI);
+
+        final List<InputClass> classes = classify(trace.build());
+        assertEquals(InputClass.TOUCHPAD, classes.get(9));
+        assertEquals(InputClass.WHEEL, classes.get(classes.size() - 1));
+    }
+
+    @Test
+    public void blockScrollIsWheel() {
+        final InputClassifier classifier = new InputClassifier();
+        assertEquals(InputClass.TOUCHPAD, classifier.classify(0.5D, MouseWheelEvent.WHEEL_UNIT_SCROLL, MILLI));
+        assertEquals(InputClass.WHEEL, classifier.classify(0.5D, MouseWheelEvent.WHEEL_BLOCK_SCROLL, 2L * MILLI));
+    }
+
+    @Test
+    public void emptyEventKeepsClass() {
+        final InputClassifier classifier = new InputClassifier();
+        assertEquals(InputClass.TOUCHPAD, classifier.classify(0.5D, MouseWheelEvent.WHEEL_UNIT_SCROLL, MILLI));
+        assertEquals(InputClass.TOUCHPAD, classifier.classify(0.0D, MouseWheelEvent.WHEEL_UNIT_SCROLL, 2L * MILLI));
+    }
+
+    @Test
+    public void recordedSessionsClassify() throws IOException {
+        for (InputClass inputClass : classify(readTrace(new File(REPLAY_DIR, "wheel.trace")))) {
+            assertEquals(InputClass.WHEEL, inputClass);
+        }
+
+        final List<InputClass> touchpad = classify(readTrace(new File(REPLAY_DIR, "touchpad.trace")));
+        assertEquals(InputClass.TOUCHPAD, touchpad.get(0));
+        assertTrue(touchpad.contains(InputClass.MOMENTUM));
+        assertFalse(touchpad.contains(InputClass.WHEEL));
+    }
+
+    /**
+     * Builds a trace out of runs of evenly spaced events
+     */
+    private static final class TraceBuilder {
+        private final List<ScrollTrace.Event> mEvents = new ArrayList<ScrollTrace.Event>();
+        private long mNanos = 1000L * MILLI;
+
+        void add(double rotation, int count, long intervalNanos) {
+            for (int i = 0; i < count; i++) {
+                if (!mEvents.isEmpty()) {
+                    mNanos += intervalNanos;
+                }
+                mEvents.add(new ScrollTrace.Event(mNanos, rotation, 3, 0));
+            }
+        }
+
+        void pause(long nanos) {
+            mNanos += nanos;
+        }
+
+        ScrollTrace build() throws IOException {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new ScrollTrace(mEvents).write(out);
+            return ScrollTrace.read(new ByteArrayInputStream(out.toByteArray()));
+        }
+    }
+
+    private static List<InputClass> classify(ScrollTrace trace) {
+        final InputClassifier classifier = new InputClassifier();
+        final List<InputClass> classes = new ArrayList<InputClass>();
+        for (ScrollTrace.Event event : trace.getEvents()) {
+            classes.add(classifier.classify(event.ROTATION, MouseWheelEvent.WHEEL_UNIT_SCROLL, event.TIME));
+        }
+        return classes;
+    }
+
+    private static ScrollTrace readTrace(File file) throws IOException {
+        final InputStream in = new FileInputStream(file);
+        try {
+            return ScrollTrace.read(in);
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The motion must not depend on how time is split into frames.
+ */
+public class ScrollAnimatorTest {
+    private static final long MILLI = 1000000L;
+    private static final long START_NANOS = 1000L * MILLI;
+    private static final double[] FRAME_RATES = {20.0D, 60.0D, 144.0D};
+
+    // Give up if still moving after this long
+    private static final long MAX_NANOS = 60000L * MILLI;
+
+    @Test
+    public void notchesCloseTogetherGoAsFarAtAnyFrameRate() {
+        assertSameAtAnyFrameRate(3, 8L * MILLI, 3.0D, InputClass.WHEEL);
+    }
+
+    @Test
+    public void notchesFarApartGoAsFarAtAnyFrameRate() {
+        assertSameAtAnyFrameRate(10, 60L * MILLI, 3.0D, InputClass.WHEEL);
+    }
+
+    @Test
+    public void touchpadGoesAsFarAtAnyFrameRate() {
+        assertSameAtAnyFrameRate(40, 5L * MILLI, 0.3D, InputClass.TOUCHPAD);
+    }
+
+    @Test
+    public void singleNotchMoves() {
+        for (ScrollPhysicsModel model : ScrollPhysicsModel.values()) {
+            final int distance = run(model, 1, 0L, 3.0D, InputClass.WHEEL, 16L * MILLI, 0L);
+            assertTrue(model + " moved " + distance, distance > 0);
+        }
+    }
+
+    @Test
+    public void stallDoesNotShortenFling() {
+        for (ScrollPhysicsModel model : ScrollPhysicsModel.values()) {
+            final int smooth = run(model, 10, 30L * MILLI, 3.0D, InputClass.WHEEL, 16L * MILLI, 0L);
+            final int stalled = run(model, 10, 30L * MILLI, 3.0D, InputClass.WHEEL, 16L * MILLI, 1000L * MILLI);
+            assertEquals(model.name(), smooth, stalled, 1.0D);
+        }
+    }
+
+    private static void assertSameAtAnyFrameRate(int events, long intervalNanos, double input, InputClass inputClass) {
+        for (ScrollPhysicsModel model : ScrollPhysicsModel.values()) {
+            final int expected = run(model, events, intervalNanos, input, inputClass,
+                    Math.round(1000.0D / FRAME_RATES[0]) * MILLI, 0L);
+            assertTrue(model + " did not move", expected > 0);
+            for (int i = 1; i < FRAME_RATES.length; i++) {
+                final int distance = run(model, events, intervalNanos, input, inputClass,
+                        Math.round(1000.0D / FRAME_RATES[i]) * MILLI, 0L);
+                // allow for rounding to whole pixels
+                assertEquals(model + " at " + FRAME_RATES[i] + " fps", expected, distance, 1.0D);
+            }
+        }
+    }
+
+    /**
+     * Scroll down with evenly spaced input until the motion stops.
+     *
+     * @param stallNanos if not 0, no frames for this long after the last event
+     * @return distance scrolled
+     */
+    private static int run(ScrollPhysicsModel model, int events, long intervalNanos, double input,
+                           InputClass inputClass, long frameNanos, long stallNanos) {
+        final ScrollPhysicsConfig config = getConfig(model);
+        final VirtualScrollTarget target = new VirtualScrollTarget();
+        final ScrollAnimator animator = new ScrollAnimator(target, model, ScrollAnimator.NO_STATS);
+        final long lastEventNanos = START_NANOS + (events - 1) * intervalNanos;
+
+        animator.addInput(input, false, inputClass, START_NANOS);
+        animator.start(START_NANOS);
+        int next = 1;
+        long now = START_NANOS;
+        boolean moving = true;
+        while (moving || next < events) {
+            now += frameNanos;
+            if (stallNanos > 0L && now > lastEventNanos && now < lastEventNanos + stallNanos) {
+                now = lastEventNanos + stallNanos;
+            }
+            while (next < events && START_NANOS + next * intervalNanos <= now) {
+                animator.addInput(input, false, inputClass, START_NANOS + next * intervalNanos);
+                next++;
+            }
+            moving = animator.tick(now, config);
+            assertTrue("still moving", now - START_NANOS < MAX_NANOS);
+        }
+        return target.getVerticalScrollOffset() - VirtualScrollTarget.START_OFFSET;
+    }
+
+    private static ScrollPhysicsConfig getConfig(ScrollPhysicsModel model) {
+        final ScrollPhysicsConfig defaults = ScrollPhysicsConfig.DEFAULTS;
+        return new ScrollPhysicsConfig(defaults.TOL, defaults.SPD, defaults.ACC, defaults.FRIC, defaults.MULT,
+                defaults.FPS, model);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Calibration must leave the reference wheel alone and only tune what
+ * applies to the device.
+ */
+public class ScrollCalibratorTest {
+    private static final long MILLI = 1000000L;
+    private static final long PAUSE_NANOS = 2000L * MILLI;
+
+    @Test
+    public void referenceWheelKeepsDefaults() {
+        // single notches and flings of the standard wheel the reference is built from
+        final List<ScrollTrace.Event> events = new ArrayList<ScrollTrace.Event>();
+        long time = 0L;
+        for (int gesture = 0; gesture < 10; gesture++) {
+            final int notches = (gesture % 2 == 1) ? 10 : 1;
+            for (int i = 0; i < notches; i++) {
+                events.add(new ScrollTrace.Event(time + i * 30L * MILLI, 1.0D, 3, 0));
+            }
+            time += PAUSE_NANOS;
+        }
+
+        final ScrollPhysicsConfig defaults = ScrollPhysicsConfig.DEFAULTS;
+        final ScrollCalibrator.Result result = ScrollCalibrator.calibrate(new ScrollTrace(events), defaults);
+
+        assertEquals(InputClass.WHEEL, result.INPUT_CLASS);
+        assertEquals(0.0D, result.ERROR_BEFORE, 1.0E-9D);
+        assertEquals(defaults.TOL, result.CONFIG.TOL, 0.0D);
+        assertEquals(defaults.SPD, result.CONFIG.SPD, 0.0D);
+        assertEquals(defaults.ACC, result.CONFIG.ACC, 0.0D);
+        assertEquals(defaults.FRIC, result.CONFIG.FRIC, 0.0D);
+        assertEquals(defaults.MULT, result.CONFIG.MULT, 0.0D);
+    }
+
+    @Test
+    public void touchpadOnlyTunesMultiplier() {
+        // small and larger swipes, each a steady stream of fractions
+        final List<ScrollTrace.Event> events = new ArrayList<ScrollTrace.Event>();
+        long time = 0L;
+        for (int gesture = 0; gesture < 12; gesture++) {
+            final int count = 3 + 4 * (gesture % 4);
+            for (int i = 0; i < count; i++) {
+                events.add(new ScrollTrace.Event(time + i * 8L * MILLI, 0.1D, 3, 0));
+            }
+            time += PAUSE_NANOS;
+        }
+
+        final ScrollPhysicsConfig defaults = ScrollPhysicsConfig.DEFAULTS;
+        final ScrollCalibrator.Result result = ScrollCalibrator.calibrate(new ScrollTrace(events), defaults);
+
+        assertEquals(InputClass.TOUCHPAD, result.INPUT_CLASS);
+        assertEquals(defaults.TOL, result.CONFIG.TOL, 0.0D);
+        assertEquals(defaults.SPD, result.CONFIG.SPD, 0.0D);
+        assertEquals(defaults.ACC, result.CONFIG.ACC, 0.0D);
+        assertEquals(defaults.FRIC, result.CONFIG.FRIC, 0.0D);
+        // a small swipe goes far less than a notch at the default multiplier
+        assertTrue("multiplier " + result.CONFIG.MULT, result.CONFIG.MULT > defaults.MULT);
+        assertTrue(result.ERROR_AFTER < result.ERROR_BEFORE);
+        assertTrue(result.format().contains("Multiplier"));
+        assertFalse(result.format().contains("Threshold"));
+    }
+
+    @Test
+    public void progressCanStopTheSearch() {
+        final List<ScrollTrace.Event> events = new ArrayList<ScrollTrace.Event>();
+        for (int i = 0; i < ScrollCalibrator.MIN_GESTURES; i++) {
+            events.add(new ScrollTrace.Event(i * PAUSE_NANOS, 1.0D, 3, 0));
+        }
+        final double[] fraction = {-1.0D};
+        final ScrollCalibrator.Progress progress = new ScrollCalibrator.Progress() {
+            @Override
+            public void setFraction(double value) {
+                assertTrue(value >= fraction[0] && value < 1.0D);
+                fraction[0] = value;
+            }
+
+            @Override
+            public void checkCanceled() {
+                if (fraction[0] >= 0.5D) {
+                    throw new IllegalStateException("canceled");
+                }
+            }
+        };
+
+        try {
+            ScrollCalibrator.calibrate(new ScrollTrace(events), ScrollPhysicsConfig.DEFAULTS, progress);
+            fail("not canceled");
+        } catch (IllegalStateException e) {
+            assertEquals(0.5D, fraction[0], 0.05D);
+        }
+    }
+
+    @Test
+    public void tooFewGestures() {
+        final List<ScrollTrace.Event> events = new ArrayList<ScrollTrace.Event>();
+        for (int i = 0; i < ScrollCalibrator.MIN_GESTURES - 1; i++) {
+            events.add(new ScrollTrace.Event(i * PAUSE_NANOS, 1.0D, 3, 0));
+        }
+        assertNull(ScrollCalibrator.calibrate(new ScrollTrace(events), ScrollPhysicsConfig.DEFAULTS));
+    }
+
+    @Test
+    public void pausesAndReversalsSplitGestures() {
+        final List<ScrollTrace.Event> events = new ArrayList<ScrollTrace.Event>();
+        events.add(new ScrollTrace.Event(0L, 1.0D, 3, 0));
+        events.add(new ScrollTrace.Event(30L * MILLI, 1.0D, 3, 0));
+        // reversal
+        events.add(new ScrollTrace.Event(60L * MILLI, -1.0D, 3, 0));
+        // pause
+        events.add(new ScrollTrace.Event(60L * MILLI + ScrollCalibrator.GESTURE_GAP_NANOS + 1L, -1.0D, 3, 0));
+        // sideways, left out
+        events.add(new ScrollTrace.Event(PAUSE_NANOS, 1.0D, 3, java.awt.event.InputEvent.SHIFT_DOWN_MASK));
+
+        final List<ScrollTrace> gestures = ScrollCalibrator.splitGestures(new ScrollTrace(events));
+        assertEquals(3, gestures.size());
+        assertEquals(2, gestures.get(0).getEvents().size());
+        assertEquals(1, gestures.get(1).getEvents().size());
+        assertEquals(1, gestures.get(2).getEvents().size());
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays the traces in testData/replay and compares each with the
+ * expected output next to it. After an intended change to the physics,
+ * run the tests with -PupdateGolden to record the new outputs.
+ */
+public class ScrollReplayTest {
+    private static final File GOLDEN_DIR = new File("testData/replay");
+    private static final String TRACE_SUFFIX = ".trace";
+    private static final String EXPECTED_SUFFIX = ".txt";
+    private static final String UPDATE_PROPERTY = "smoothscroller.updateGolden";
+    private static final long MILLI = 1000000L;
+
+    @Test
+    public void tracesReplayAsRecorded() throws IOException {
+        final File[] traces = GOLDEN_DIR.listFiles();
+        assertTrue("no traces in " + GOLDEN_DIR.getAbsolutePath(), traces != null);
+
+        int count = 0;
+        for (File trace : traces) {
+            final String name = trace.getName();
+            if (!name.endsWith(TRACE_SUFFIX)) {
+                continue;
+            }
+            final File expected = new File(GOLDEN_DIR,
+                    name.substring(0, name.length() - TRACE_SUFFIX.length()) + EXPECTED_SUFFIX);
+            final String actual = replay(readTrace(trace), ScrollPhysicsConfig.DEFAULTS);
+            if (Boolean.getBoolean(UPDATE_PROPERTY)) {
+                writeText(expected, actual);
+            }
+            assertEquals(name, readText(expected), actual);
+            count++;
+        }
+        assertTrue("no traces in " + GOLDEN_DIR.getAbsolutePath(), count > 0);
+    }
+
+    @Test
+    public void singleNotchMovesFromRest() {
+        for (ScrollPhysicsModel model : ScrollPhysicsModel.values()) {
+            final ScrollReplay.Result result = ScrollReplay.replay(createTrace(1, 0L), getConfig(model, 60.0D));
+            assertTrue(model + " moved " + result.DISTANCE, result.DISTANCE > 0L);
+        }
+    }
+
+    @Test
+    public void distanceDoesNotDependOnFrameRate() {
+        final ScrollTrace trace = createTrace(10, 30L * MILLI);
+        for (ScrollPhysicsModel model : ScrollPhysicsModel.values()) {
+            final long expected = ScrollReplay.replay(trace, getConfig(model, 60.0D)).DISTANCE;
+            for (double fps : new double[]{20.0D, 144.0D}) {
+                // allow for rounding to whole pixels
+                assertEquals(model + " at " + fps + " fps", expected,
+                        ScrollReplay.replay(trace, getConfig(model, fps)).DISTANCE, 1.0D);
+            }
+        }
+    }
+
+    @Test
+    public void replayIsRepeatable() throws IOException {
+        final ScrollTrace trace = readTrace(new File(GOLDEN_DIR, "touchpad" + TRACE_SUFFIX));
+        assertEquals(replay(trace, ScrollPhysicsConfig.DEFAULTS), replay(trace, ScrollPhysicsConfig.DEFAULTS));
+    }
+
+    @Test
+    public void traceSurvivesWriteAndRead() throws IOException {
+        final ScrollTrace trace = createTrace(5, 12L * MILLI);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trace.write(out);
+        final ScrollTrace copy = ScrollTrace.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(trace.getEvents().size(), copy.getEvents().size());
+        for (int i = 0; i < trace.getEvents().size(); i++) {
+            final ScrollTrace.Event event = trace.getEvents().get(i);
+            final ScrollTrace.Event read = copy.getEvents().get(i);
+            assertEquals(event.TIME, read.TIME);
+            assertEquals(event.ROTATION, read.ROTATION, 0.0D);
+            assertEquals(event.AMOUNT, read.AMOUNT);
+            assertEquals(event.MODIFIERS, read.MODIFIERS);
+        }
+    }
+
+    /**
+     * Evenly spaced notches down a standard wheel.
+     */
+    private static ScrollTrace createTrace(int notches, long intervalNanos) {
+        final List<ScrollTrace.Event> events = new ArrayList<ScrollTrace.Event>();
+        for (int i = 0; i < notches; i++) {
+            events.add(new ScrollTrace.Event(i * intervalNanos, 1.0D, 3, 0));
+        }
+        return new ScrollTrace(events);
+    }
+
+    private static ScrollPhysicsConfig getConfig(ScrollPhysicsModel model, double fps) {
+        final ScrollPhysicsConfig defaults = ScrollPhysicsConfig.DEFAULTS;
+        return new ScrollPhysicsConfig(defaults.TOL, defaults.SPD, defaults.ACC, defaults.FRIC, defaults.MULT,
+                fps, model);
+    }
+
+    private static String replay(ScrollTrace trace, ScrollPhysicsConfig config) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final PrintStream out = new PrintStream(bytes, true, "UTF-8");
+        ScrollReplay.replay(trace, config).write(out);
+        out.close();
+        return bytes.toString("UTF-8");
+    }
+
+    private static ScrollTrace readTrace(File file) throws IOException {
+        final InputStream in = new FileInputStream(file);
+        try {
+            return ScrollTrace.read(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static String readText(File file) throws IOException {
+        final InputStream in = new FileInputStream(file);
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, count);
+            }
+            return bytes.toString("UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void writeText(File file, String text) throws IOException {
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(text.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The spring must respect the speed limit and move at any friction.
+ */
+public class SpringScrollPhysicsTest {
+    private static final long FRAME_NANOS = 16L * 1000000L;
+    private static final int MAX_FRAMES = 100000;
+
+    @Test
+    public void speedLimitHoldsBackTheMotion() {
+        final ScrollPhysicsConfig config = getConfig(0.005D, ScrollPhysicsConfig.DEFAULTS.FRIC);
+        final SpringScrollPhysics spring = new SpringScrollPhysics();
+        spring.onImpulse(3.0D, 0L, config);
+        final double target = spring.getRestDistance(config);
+
+        double travelled = 0.0D;
+        int frames = 0;
+        while (!spring.isAtRest() && frames < MAX_FRAMES) {
+            final double distance = spring.step(FRAME_NANOS, config);
+            assertTrue("moved " + distance, Math.abs(distance) <= config.SPD * FRAME_NANOS / 1000000.0D + 1.0E-9D);
+            travelled += distance;
+            frames++;
+        }
+
+        assertEquals(target, travelled, 1.0E-9D);
+        // it takes as long as the limit says
+        assertTrue(frames >= Math.abs(target) / (config.SPD * FRAME_NANOS / 1000000.0D));
+    }
+
+    @Test
+    public void noFrictionStillScrolls() {
+        final ScrollPhysicsConfig config = getConfig(ScrollPhysicsConfig.DEFAULTS.SPD, 0.0D);
+        final SpringScrollPhysics spring = new SpringScrollPhysics();
+        spring.onImpulse(3.0D, 0L, config);
+
+        double travelled = 0.0D;
+        int frames = 0;
+        while (!spring.isAtRest() && frames < MAX_FRAMES) {
+            travelled += spring.step(FRAME_NANOS, config);
+            frames++;
+        }
+
+        assertTrue(spring.isAtRest());
+        assertTrue("travelled " + travelled, travelled > 0.0D);
+    }
+
+    private static ScrollPhysicsConfig getConfig(double spd, double fric) {
+        final ScrollPhysicsConfig defaults = ScrollPhysicsConfig.DEFAULTS;
+        return new ScrollPhysicsConfig(defaults.TOL, spd, defaults.ACC, fric, defaults.MULT, defaults.FPS,
+                ScrollPhysicsModel.SPRING);
+    }
+}
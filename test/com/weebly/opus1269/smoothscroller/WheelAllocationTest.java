@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.awt.event.MouseWheelEvent;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The wheel path must not make garbage on the EDT once it is warmed up.
+ */
+public class WheelAllocationTest {
+    private static final int WARMUP_EVENTS = 200000;
+    private static final int EVENTS = 100000;
+    private static final long EVENT_NANOS = 4L * 1000000L;
+
+    @Test
+    public void velocityTrackerAllocatesNothing() {
+        final VelocityTracker tracker = new VelocityTracker(20, 100.0D, ScrollPhysics.MILLIS_PER_IMPULSE);
+        final long[] now = {0L};
+        final Runnable event = new Runnable() {
+            @Override
+            public void run() {
+                now[0] += EVENT_NANOS;
+                tracker.addMovement(now[0], 3.0D);
+                tracker.getVelocity();
+            }
+        };
+
+        assertNoAllocation(event);
+    }
+
+    @Test
+    public void wheelEventsAllocateNothing() {
+        final ScrollPhysicsConfig config = ScrollPhysicsConfig.DEFAULTS;
+        final ScrollAnimator animator = new ScrollAnimator(new VirtualScrollTarget(), ScrollPhysicsModel.INERTIAL,
+                ScrollStats.getInstance());
+        final InputClassifier classifier = new InputClassifier();
+        final long[] now = {0L};
+        final int[] count = {0};
+        animator.start(now[0]);
+        final Runnable event = new Runnable() {
+            @Override
+            public void run() {
+                now[0] += EVENT_NANOS;
+                // turn around now and then, so the target never reaches an end
+                final double rotation = ((count[0]++ / 1000) % 2 == 0) ? 1.0D : -1.0D;
+                final InputClass inputClass =
+                        classifier.classify(rotation, MouseWheelEvent.WHEEL_UNIT_SCROLL, now[0]);
+                animator.addInput(3.0D * rotation, false, inputClass, now[0]);
+                animator.tick(now[0], config);
+            }
+        };
+
+        assertNoAllocation(event);
+    }
+
+    private static void assertNoAllocation(Runnable event) {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < WARMUP_EVENTS; i++) {
+            event.run();
+        }
+
+        final long id = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < EVENTS; i++) {
+            event.run();
+        }
+        final long allocated = threads.getThreadAllocatedBytes(id) - before;
+
+        // anything allocated per event would be at least an object header each time
+        assertTrue("allocated " + allocated + " bytes over " + EVENTS + " events", allocated < EVENTS);
+    }
+}
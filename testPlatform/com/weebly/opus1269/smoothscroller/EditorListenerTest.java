@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Michael A Updike
+ * Copyright (c) 2013 Hugo Campos
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.weebly.opus1269.smoothscroller;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.testFramework.LightPlatformTestCase;
+
+import java.awt.event.MouseWheelListener;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Editors opened and closed all day must not leave their wheel listeners,
+ * and the animators they hold, behind.
+ */
+public class EditorListenerTest extends LightPlatformTestCase {
+    private static final int EDITORS = 10000;
+
+    // Collections to try before deciding something is still reachable
+    private static final int MAX_GC = 10;
+
+    public void testReleasedEditorsKeepNoListeners() {
+        final EditorFactory factory = EditorFactory.getInstance();
+        final Document document = factory.createDocument("first line\nsecond line\n");
+        final List<WeakReference<SmoothScrollerMouseWheelListener>> listeners =
+                new ArrayList<WeakReference<SmoothScrollerMouseWheelListener>>(EDITORS);
+
+        for (int i = 0; i < EDITORS; i++) {
+            final Editor editor = factory.createEditor(document, getProject());
+            final SmoothScrollerMouseWheelListener listener = editor.getUserData(EditorListener.LISTENER_KEY);
+            assertNotNull("listener added", listener);
+            listeners.add(new WeakReference<SmoothScrollerMouseWheelListener>(listener));
+
+            factory.releaseEditor(editor);
+            assertNull("listener removed from the editor", editor.getUserData(EditorListener.LISTENER_KEY));
+            for (MouseWheelListener wheelListener : editor.getContentComponent().getMouseWheelListeners()) {
+                assertNotSame("listener removed from the component", listener, wheelListener);
+            }
+        }
+
+        for (int gc = 0; gc < MAX_GC && countReachable(listeners) > 0; gc++) {
+            System.gc();
+        }
+        assertEquals("listeners still reachable", 0, countReachable(listeners));
+    }
+
+    private static int countReachable(List<WeakReference<SmoothScrollerMouseWheelListener>> listeners) {
+        int reachable = 0;
+        for (WeakReference<SmoothScrollerMouseWheelListener> listener : listeners) {
+            if (listener.get() != null) {
+                reachable++;
+            }
+        }
+        return reachable;
+    }
+}